@@ -2,8 +2,11 @@ package com.ys.locksmith.common.config;
 
 import org.redisson.api.RedissonClient;
 import org.redisson.spring.cache.RedissonSpringCacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,6 +18,7 @@ import java.util.Map;
 public class CacheConfig {
     
     @Bean
+    @ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "redis", matchIfMissing = true)
     public CacheManager cacheManager(RedissonClient redissonClient) {
         Map<String, org.redisson.spring.cache.CacheConfig> config = new HashMap<>();
         
@@ -23,4 +27,11 @@ public class CacheConfig {
         
         return new RedissonSpringCacheManager(redissonClient, config);
     }
+    
+    // Redis 없이 단일 노드로 띄울 때는 로컬 캐시를 사용한다
+    @Bean
+    @ConditionalOnExpression("'${locksmith.lock.provider:redis}' != 'redis'")
+    public CacheManager localCacheManager() {
+        return new ConcurrentMapCacheManager("payment");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.ys.locksmith.common.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// redis 이외의 락 프로바이더를 쓰면 Redisson 자동 설정을 빼서 Redis 없이도 기동되게 한다
+// 프로필마다 exclude를 따로 적지 않아도 되도록 provider 값 하나로 결정하고, 이미 설정된 exclude는 유지한다
+public class RedissonExclusionEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+    
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+    
+    private static final List<String> REDISSON_AUTO_CONFIGURATIONS = List.of(
+        "org.redisson.spring.starter.RedissonAutoConfiguration",
+        "org.redisson.spring.starter.RedissonAutoConfigurationV2"
+    );
+    
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("redis".equals(environment.getProperty("locksmith.lock.provider", "redis"))) {
+            return;
+        }
+        
+        List<String> excludes = new ArrayList<>(Binder.get(environment)
+            .bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class))
+            .orElse(List.of()));
+        REDISSON_AUTO_CONFIGURATIONS.stream()
+            .filter(name -> !excludes.contains(name))
+            .forEach(excludes::add);
+        
+        environment.getPropertySources().addFirst(new MapPropertySource(
+            "locksmithRedissonExclusion", Map.of(EXCLUDE_PROPERTY, String.join(",", excludes))));
+    }
+    
+    // application.yml과 프로필 설정이 모두 읽힌 뒤에 provider 값을 본다
+    @Override
+    public int getOrder() {
+        return ConfigDataEnvironmentPostProcessor.ORDER + 1;
+    }
+}
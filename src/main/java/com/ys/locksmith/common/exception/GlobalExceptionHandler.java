@@ -1,15 +1,25 @@
 package com.ys.locksmith.common.exception;
 
+import com.ys.locksmith.common.lock.LockContendedException;
+import com.ys.locksmith.common.lock.LockLeaseExpiredException;
+import com.ys.locksmith.common.lock.RequestDeadlineExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.concurrent.TimeUnit;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_RETRY_AFTER_SECONDS = 30;
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
         log.warn("잘못된 요청: {}", e.getMessage());
@@ -17,6 +27,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    // X-Request-Timeout 같은 헤더나 경로 변수가 선언한 타입으로 바뀌지 않으면 클라이언트 입력 오류다
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        log.warn("잘못된 요청 값: {}={}", e.getName(), e.getValue());
+        ErrorResponse errorResponse = new ErrorResponse("BAD_REQUEST", "잘못된 요청 값입니다: " + e.getName());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException e) {
         log.warn("잘못된 상태: {}", e.getMessage());
@@ -24,6 +42,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    // IllegalStateException보다 구체적인 타입이므로 400 대신 429로 응답한다
+    @ExceptionHandler(LockContendedException.class)
+    public ResponseEntity<ErrorResponse> handleLockContendedException(LockContendedException e) {
+        log.warn("락 경합: {}, 남은 lease {}ms", e.getLockKey(), e.getRetryAfterMillis());
+        ErrorResponse errorResponse = new ErrorResponse("LOCK_CONTENDED", "같은 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(e.getRetryAfterMillis())))
+            .body(errorResponse);
+    }
+    
+    // 작업은 롤백되었지만 다른 노드가 같은 키로 진입했을 수 있으므로 잠시 후 재시도하도록 안내한다
+    @ExceptionHandler(LockLeaseExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleLockLeaseExpiredException(LockLeaseExpiredException e) {
+        log.error("락 lease 만료: {}", e.getLockKey());
+        ErrorResponse errorResponse = new ErrorResponse("LOCK_LEASE_EXPIRED", "처리 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
+    // 클라이언트는 이미 떠났을 가능성이 높으므로 응답보다는 로그와 지표를 위한 상태 코드다
+    @ExceptionHandler(RequestDeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRequestDeadlineExceededException(RequestDeadlineExceededException e) {
+        log.warn("요청 기한 초과: {}", e.getDeadline());
+        ErrorResponse errorResponse = new ErrorResponse("REQUEST_DEADLINE_EXCEEDED", "요청 처리 기한이 지났습니다.");
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(errorResponse);
+    }
+    
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
         log.error("서버 오류: {}", e.getMessage(), e);
@@ -37,4 +81,13 @@ public class GlobalExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse("INTERNAL_SERVER_ERROR", "예상하지 못한 오류가 발생했습니다.");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
+    
+    // 남은 lease가 끝나는 시점까지 올림하되, 만료 없는 락이 클라이언트를 너무 오래 붙잡지 않도록 상한을 둔다
+    private static long retryAfterSeconds(long retryAfterMillis) {
+        if (retryAfterMillis <= 0) {
+            return DEFAULT_RETRY_AFTER_SECONDS;
+        }
+        long seconds = (retryAfterMillis + TimeUnit.SECONDS.toMillis(1) - 1) / TimeUnit.SECONDS.toMillis(1);
+        return Math.min(Math.max(seconds, DEFAULT_RETRY_AFTER_SECONDS), MAX_RETRY_AFTER_SECONDS);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.ys.locksmith.common.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 원소 수를 미리 알 수 없을 때 쓰는 Bloom filter (Scalable Bloom Filters, Almeida et al.)
+// 층이 가득 차면 용량은 2배, 오탐률은 절반인 층을 덧붙이므로 전체 오탐률은 falsePositiveRate를 넘지 않는다
+// 조회는 락 없이 비트 배열만 읽고, 추가는 층을 늘려야 할 수 있으므로 한 번에 하나씩 한다
+public class ScalableBloomFilter {
+    
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Layer[] layers;
+    private volatile long size;
+    
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("초기 용량은 양수여야 합니다: " + initialCapacity);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다: " + falsePositiveRate);
+        }
+        
+        // 층별 오탐률의 등비급수 합 p0 / (1 - r)이 목표 오탐률이 되도록 첫 층을 잡는다
+        this.layers = new Layer[]{new Layer(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+    
+    // false면 추가된 적이 없다. true면 추가되었거나 오탐이다
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ HASH_SEED) | 1;
+        return contains(layers, hash1, hash2);
+    }
+    
+    // 이미 있다고 판단되면 비트를 더 세우지 않고 false를 돌려준다
+    public boolean put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ HASH_SEED) | 1;
+        
+        lock.lock();
+        try {
+            Layer[] current = layers;
+            if (contains(current, hash1, hash2)) {
+                return false;
+            }
+            
+            Layer last = current[current.length - 1];
+            if (last.count >= last.capacity) {
+                last = new Layer(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+                Layer[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = last;
+                layers = grown;
+            }
+            last.put(hash1, hash2);
+            size++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // 오탐으로 추가되지 않은 원소는 세지 않으므로 실제 추가 횟수보다 조금 작을 수 있다
+    public long approximateSize() {
+        return size;
+    }
+    
+    public int layerCount() {
+        return layers.length;
+    }
+    
+    private static boolean contains(Layer[] layers, long hash1, long hash2) {
+        for (Layer layer : layers) {
+            if (layer.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // FNV-1a 64비트 해시에 splitmix64 마무리를 더해 하위 비트까지 고르게 섞는다
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    private static final class Layer {
+        
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+        private long count;
+        
+        // m = -n ln p / (ln 2)^2, k = (m / n) ln 2
+        private Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact((bits + 63) >>> 6));
+            this.bitCount = (long) words.length() * Long.SIZE;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+        
+        // 두 해시의 선형 결합으로 k개의 위치를 만든다 (Kirsch-Mitzenmacher)
+        private boolean mightContain(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(combined, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+        
+        private void put(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(combined, bitCount);
+                words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+                combined += hash2;
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ys.locksmith.common.lock;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 소유자 ID 기반 동기 연산만 구현하면 스레드/토큰 소유 핸들과 비동기 API를 제공한다
+public abstract class AbstractLockProvider implements LockProvider {
+    
+    // 비동기 락 대기는 가상 스레드에서 블로킹하므로 플랫폼 스레드를 점유하지 않는다
+    private final ExecutorService waiters = Executors.newVirtualThreadPerTaskExecutor();
+    
+    protected abstract boolean tryLock(String lockKey, LockMode mode, long ownerId, long waitTime, long leaseTime, TimeUnit timeUnit)
+        throws InterruptedException;
+    
+    protected abstract boolean isHeld(String lockKey, LockMode mode, long ownerId);
+    
+    protected abstract void unlock(String lockKey, LockMode mode, long ownerId);
+    
+    // 남은 lease를 알 수 없는 구현체는 -1을 돌려준다
+    protected long remainingLeaseMillis(String lockKey, LockMode mode) {
+        return -1;
+    }
+    
+    @Override
+    public LockHandle getLock(String lockKey) {
+        return new OwnerLockHandle(lockKey, LockMode.EXCLUSIVE);
+    }
+    
+    @Override
+    public LockHandle getReadLock(String lockKey) {
+        return new OwnerLockHandle(lockKey, LockMode.READ);
+    }
+    
+    @Override
+    public LockHandle getWriteLock(String lockKey) {
+        return new OwnerLockHandle(lockKey, LockMode.WRITE);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        waiters.shutdownNow();
+    }
+    
+    private static long currentThreadOwner() {
+        return Thread.currentThread().threadId();
+    }
+    
+    private class OwnerLockHandle implements LockHandle {
+        
+        private final String lockKey;
+        private final LockMode mode;
+        
+        OwnerLockHandle(String lockKey, LockMode mode) {
+            this.lockKey = lockKey;
+            this.mode = mode;
+        }
+        
+        @Override
+        public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+            return AbstractLockProvider.this.tryLock(lockKey, mode, currentThreadOwner(), waitTime, leaseTime, timeUnit);
+        }
+        
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return isHeld(lockKey, mode, currentThreadOwner());
+        }
+        
+        @Override
+        public void unlock() {
+            AbstractLockProvider.this.unlock(lockKey, mode, currentThreadOwner());
+        }
+        
+        @Override
+        public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return AbstractLockProvider.this.tryLock(lockKey, mode, ownerId, waitTime, leaseTime, timeUnit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            }, waiters);
+        }
+        
+        @Override
+        public long remainingLeaseMillis() {
+            return AbstractLockProvider.this.remainingLeaseMillis(lockKey, mode);
+        }
+        
+        @Override
+        public CompletionStage<Void> unlockAsync(long ownerId) {
+            try {
+                AbstractLockProvider.this.unlock(lockKey, mode, ownerId);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+}
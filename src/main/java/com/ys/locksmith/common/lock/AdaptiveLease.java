@@ -0,0 +1,125 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// key prefix별 최근 임계 구역 실행 시간의 상위 백분위수에 안전 계수를 곱해 leaseTime으로 쓴다
+// 노드가 죽어도 짧은 lease 만료 후 바로 다음 요청이 진입하고, 평소보다 오래 걸리는 호출은 갱신으로 락을 유지한다
+@Slf4j
+public class AdaptiveLease {
+    
+    private static final int WINDOW_SIZE = 128;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 16;
+    
+    private final double percentile;
+    private final double safetyFactor;
+    private final long minLeaseMillis;
+    private final ConcurrentMap<String, HoldWindow> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("lock-lease-renewal").daemon().factory()
+    );
+    
+    public AdaptiveLease(double percentile, double safetyFactor, long minLeaseMillis) {
+        this.percentile = percentile;
+        this.safetyFactor = safetyFactor;
+        this.minLeaseMillis = minLeaseMillis;
+    }
+    
+    // 표본이 충분하지 않으면 호출자가 지정한 leaseTime을 그대로 쓴다
+    public long leaseMillis(String keyPrefix, long maxLeaseMillis) {
+        HoldWindow window = windows.get(keyPrefix);
+        if (window == null || maxLeaseMillis < 0) {
+            return maxLeaseMillis;
+        }
+        
+        long estimated = window.estimatedLeaseMillis;
+        return estimated > 0 ? Math.min(estimated, maxLeaseMillis) : maxLeaseMillis;
+    }
+    
+    public void record(String keyPrefix, long holdNanos) {
+        windows.computeIfAbsent(keyPrefix, prefix -> new HoldWindow()).add(holdNanos);
+    }
+    
+    // Redisson watchdog처럼 lease의 1/3마다 재진입 획득으로 만료 시각을 늦추고 바로 재진입 횟수를 되돌린다
+    public ScheduledFuture<?> keepAlive(LockHandle lock, String lockKey, long ownerId, long leaseMillis) {
+        long period = Math.max(1, leaseMillis / 3);
+        return renewals.scheduleAtFixedRate(() -> renew(lock, lockKey, ownerId, leaseMillis), period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    // 락 핸들 없이 만료 시각을 직접 늘리는 저장소(주문 예약 등)는 갱신 동작을 넘긴다
+    public ScheduledFuture<?> keepAlive(String lockKey, long leaseMillis, BooleanSupplier renewal) {
+        long period = Math.max(1, leaseMillis / 3);
+        return renewals.scheduleAtFixedRate(() -> renew(lockKey, leaseMillis, renewal), period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        renewals.shutdownNow();
+    }
+    
+    private void renew(LockHandle lock, String lockKey, long ownerId, long leaseMillis) {
+        lock.tryLockAsync(0, leaseMillis, TimeUnit.MILLISECONDS, ownerId)
+            .thenCompose(renewed -> {
+                if (!renewed) {
+                    log.warn("분산락 lease 갱신 실패, 이미 만료되었을 수 있습니다: {}", lockKey);
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+                log.debug("분산락 lease 갱신: {} ({}ms)", lockKey, leaseMillis);
+                return lock.unlockAsync(ownerId);
+            })
+            .exceptionally(e -> {
+                log.warn("분산락 lease 갱신 중 오류 발생: {}", lockKey, e);
+                return null;
+            });
+    }
+    
+    // 예외가 나면 scheduleAtFixedRate가 이후 갱신을 멈추므로 여기서 삼킨다
+    private void renew(String lockKey, long leaseMillis, BooleanSupplier renewal) {
+        try {
+            if (renewal.getAsBoolean()) {
+                log.debug("분산락 lease 갱신: {} ({}ms)", lockKey, leaseMillis);
+            } else {
+                log.warn("분산락 lease 갱신 실패, 이미 만료되었을 수 있습니다: {}", lockKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("분산락 lease 갱신 중 오류 발생: {}", lockKey, e);
+        }
+    }
+    
+    private class HoldWindow {
+        
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+        private volatile long estimatedLeaseMillis;
+        
+        synchronized void add(long holdNanos) {
+            samples[next] = holdNanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+            
+            // 매 기록마다 정렬하지 않고 일정 간격으로만 다시 계산한다
+            if (count >= MIN_SAMPLES && (estimatedLeaseMillis == 0 || next % RECOMPUTE_INTERVAL == 0)) {
+                estimatedLeaseMillis = estimate();
+            }
+        }
+        
+        private long estimate() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            long percentileNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+            long leaseMillis = (long) Math.ceil(percentileNanos * safetyFactor / TimeUnit.MILLISECONDS.toNanos(1));
+            return Math.max(minLeaseMillis, leaseMillis);
+        }
+    }
+}
@@ -10,11 +10,26 @@ import java.util.concurrent.TimeUnit;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface DistributedLock {
     
-    String key();
+    String key() default "";
+    
+    // 여러 키를 한꺼번에 잠글 때 사용한다. 각 표현식은 문자열이나 컬렉션/배열로 평가될 수 있다
+    String[] keys() default {};
     
     long waitTime() default 10L;
     
     long leaseTime() default 30L;
     
     TimeUnit timeUnit() default TimeUnit.SECONDS;
+    
+    // READ/WRITE는 읽기-쓰기 락을 사용한다. 같은 키에 EXCLUSIVE와 섞어 쓰지 않는다
+    LockMode mode() default LockMode.EXCLUSIVE;
+    
+    // 단일 key의 EXCLUSIVE 락에만 적용된다. 같은 키에는 항상 같은 대기 방식을 사용한다
+    WaitStrategy waitStrategy() default WaitStrategy.PUBSUB;
+    
+    // waitStrategy가 PRIORITY일 때만 적용된다. 같은 키의 대기자 중 높은 우선순위가 먼저 락을 얻는다
+    LockPriority priority() default LockPriority.NORMAL;
+    
+    // true이면 락을 획득한 뒤에 트랜잭션을 시작한다
+    boolean transactional() default false;
 }
\ No newline at end of file
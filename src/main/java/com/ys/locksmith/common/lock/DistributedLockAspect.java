@@ -7,14 +7,16 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Aspect
 @Component
@@ -23,29 +25,232 @@ import java.lang.reflect.Method;
 @Order(1)
 public class DistributedLockAspect {
     
+    private static final String STRATEGY = "aop";
+    
     private final DistributedLockUtil lockUtil;
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final Map<Method, LockKeyResolver> keyResolvers = new ConcurrentHashMap<>();
+    private final Map<Method, List<LockKeyResolver>> multiKeyResolvers = new ConcurrentHashMap<>();
     
     @Around("@annotation(distributedLock)")
     public Object executeWithLock(ProceedingJoinPoint joinPoint, DistributedLock distributedLock) throws Throwable {
+        try (LockMetrics.StrategyScope ignored = LockMetrics.withStrategy(STRATEGY);
+             RequestDeadline.Scope deadline = RequestDeadline.start(deadlineOf(joinPoint.getArgs()))) {
+            return execute(joinPoint, distributedLock);
+        }
+    }
+    
+    // 인자로 받은 명령 객체에 요청 기한이 있으면 락 대기부터 적용한다
+    private static Instant deadlineOf(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        for (Object arg : args) {
+            if (arg instanceof RequestDeadline.Carrier carrier) {
+                return carrier.getDeadline();
+            }
+        }
+        return null;
+    }
+    
+    private Object execute(ProceedingJoinPoint joinPoint, DistributedLock distributedLock) throws Throwable {
+        Supplier<Object> proceed = () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable throwable) {
+                if (throwable instanceof RuntimeException) {
+                    throw (RuntimeException) throwable;
+                }
+                throw new RuntimeException(throwable);
+            }
+        };
+        
+        if (distributedLock.key().isEmpty()) {
+            return executeWithMultiLock(joinPoint, distributedLock, proceed);
+        }
+        
         String lockKey = parseLockKey(distributedLock.key(), joinPoint);
         
+        // 바깥 호출이 같은 락을 쥐고 있으면 Redis를 다시 거치지 않는다
+        if (HeldLockKeys.covers(lockKey, distributedLock.mode())) {
+            log.debug("이미 보유한 락이므로 재획득을 생략합니다: {}", lockKey);
+            return proceedWithoutLock(distributedLock, proceed);
+        }
+        proceed = HeldLockKeys.holding(List.of(lockKey), distributedLock.mode(), proceed);
+        
+        if (usesReadWriteLock(distributedLock.mode())) {
+            return executeWithReadWriteLock(lockKey, distributedLock, proceed);
+        }
+        
+        if (usesCustomWaitStrategy(distributedLock.waitStrategy())) {
+            return executeWithWaitStrategy(lockKey, distributedLock, proceed);
+        }
+        
+        if (distributedLock.transactional()) {
+            return lockUtil.executeWithLockInTransaction(
+                lockKey,
+                distributedLock.waitTime(),
+                distributedLock.leaseTime(),
+                distributedLock.timeUnit(),
+                proceed
+            );
+        }
+        
         return lockUtil.executeWithLock(
             lockKey,
             distributedLock.waitTime(),
             distributedLock.leaseTime(),
             distributedLock.timeUnit(),
-            () -> {
-                try {
-                    return joinPoint.proceed();
-                } catch (Throwable throwable) {
-                    if (throwable instanceof RuntimeException) {
-                        throw (RuntimeException) throwable;
-                    }
-                    throw new RuntimeException(throwable);
-                }
-            }
+            proceed
+        );
+    }
+    
+    private Object executeWithWaitStrategy(String lockKey, DistributedLock distributedLock, Supplier<Object> proceed) {
+        if (distributedLock.waitStrategy() == WaitStrategy.PRIORITY) {
+            return executeWithPriority(lockKey, distributedLock, proceed);
+        }
+        if (distributedLock.transactional()) {
+            return lockUtil.executeWithLockInTransaction(
+                lockKey,
+                distributedLock.waitStrategy(),
+                distributedLock.waitTime(),
+                distributedLock.leaseTime(),
+                distributedLock.timeUnit(),
+                proceed
+            );
+        }
+        
+        return lockUtil.executeWithLock(
+            lockKey,
+            distributedLock.waitStrategy(),
+            distributedLock.waitTime(),
+            distributedLock.leaseTime(),
+            distributedLock.timeUnit(),
+            proceed
+        );
+    }
+    
+    private Object executeWithPriority(String lockKey, DistributedLock distributedLock, Supplier<Object> proceed) {
+        if (distributedLock.transactional()) {
+            return lockUtil.executeWithLockInTransaction(
+                lockKey,
+                distributedLock.priority(),
+                distributedLock.waitTime(),
+                distributedLock.leaseTime(),
+                distributedLock.timeUnit(),
+                proceed
+            );
+        }
+        
+        return lockUtil.executeWithLock(
+            lockKey,
+            distributedLock.priority(),
+            distributedLock.waitTime(),
+            distributedLock.leaseTime(),
+            distributedLock.timeUnit(),
+            proceed
+        );
+    }
+    
+    private Object executeWithReadWriteLock(String lockKey, DistributedLock distributedLock, Supplier<Object> proceed) {
+        if (usesCustomWaitStrategy(distributedLock.waitStrategy())) {
+            throw new IllegalArgumentException("대기 방식은 단독 락에서만 변경할 수 있습니다.");
+        }
+        if (distributedLock.transactional()) {
+            return lockUtil.executeWithLockInTransaction(
+                lockKey,
+                distributedLock.mode(),
+                distributedLock.waitTime(),
+                distributedLock.leaseTime(),
+                distributedLock.timeUnit(),
+                proceed
+            );
+        }
+        
+        return lockUtil.executeWithLock(
+            lockKey,
+            distributedLock.mode(),
+            distributedLock.waitTime(),
+            distributedLock.leaseTime(),
+            distributedLock.timeUnit(),
+            proceed
+        );
+    }
+    
+    private Object executeWithMultiLock(ProceedingJoinPoint joinPoint, DistributedLock distributedLock, Supplier<Object> proceed) {
+        if (usesReadWriteLock(distributedLock.mode())) {
+            throw new IllegalArgumentException("읽기/쓰기 락은 단일 key에서만 지원합니다.");
+        }
+        if (usesCustomWaitStrategy(distributedLock.waitStrategy())) {
+            throw new IllegalArgumentException("대기 방식은 단일 key에서만 변경할 수 있습니다.");
+        }
+        // 이미 보유한 키는 빼고 나머지만 잠근다
+        List<String> lockKeys = parseLockKeys(distributedLock.keys(), joinPoint).stream()
+            .filter(lockKey -> !HeldLockKeys.covers(lockKey, LockMode.EXCLUSIVE))
+            .toList();
+        if (lockKeys.isEmpty()) {
+            log.debug("이미 보유한 락이므로 재획득을 생략합니다: {}", Arrays.toString(distributedLock.keys()));
+            return proceedWithoutLock(distributedLock, proceed);
+        }
+        proceed = HeldLockKeys.holding(lockKeys, LockMode.EXCLUSIVE, proceed);
+        
+        if (distributedLock.transactional()) {
+            return lockUtil.executeWithMultiLockInTransaction(
+                lockKeys,
+                distributedLock.waitTime(),
+                distributedLock.leaseTime(),
+                distributedLock.timeUnit(),
+                proceed
+            );
+        }
+        
+        return lockUtil.executeWithMultiLock(
+            lockKeys,
+            distributedLock.waitTime(),
+            distributedLock.leaseTime(),
+            distributedLock.timeUnit(),
+            proceed
+        );
+    }
+    
+    // 락은 바깥 호출이 해제하므로 트랜잭션 설정만 따른다
+    private Object proceedWithoutLock(DistributedLock distributedLock, Supplier<Object> proceed) {
+        if (distributedLock.transactional()) {
+            return lockUtil.executeInTransaction(proceed);
+        }
+        return proceed.get();
+    }
+    
+    private List<String> parseLockKeys(String[] keyExpressions, ProceedingJoinPoint joinPoint) {
+        if (keyExpressions.length == 0) {
+            throw new IllegalArgumentException("@DistributedLock에는 key 또는 keys가 필요합니다.");
+        }
+        
+        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
+        List<LockKeyResolver> resolvers = multiKeyResolvers.computeIfAbsent(
+            methodSignature.getMethod(),
+            m -> Arrays.stream(keyExpressions)
+                .filter(expression -> expression.contains("#"))
+                .map(expression -> new LockKeyResolver(expression, methodSignature.getParameterNames()))
+                .toList()
         );
+        
+        // 정렬은 DistributedLockUtil에서 하므로 고정 키와 SpEL 키의 순서는 신경 쓰지 않는다
+        List<String> lockKeys = new ArrayList<>();
+        Arrays.stream(keyExpressions)
+            .filter(expression -> !expression.contains("#"))
+            .forEach(lockKeys::add);
+        Object[] args = joinPoint.getArgs();
+        resolvers.forEach(resolver -> lockKeys.addAll(resolver.resolveAll(args)));
+        
+        return lockKeys;
+    }
+    
+    private static boolean usesReadWriteLock(LockMode mode) {
+        return mode == LockMode.READ || mode == LockMode.WRITE;
+    }
+    
+    private static boolean usesCustomWaitStrategy(WaitStrategy waitStrategy) {
+        return waitStrategy == WaitStrategy.SPIN || waitStrategy == WaitStrategy.FAIR || waitStrategy == WaitStrategy.PRIORITY;
     }
     
     private String parseLockKey(String keyExpression, ProceedingJoinPoint joinPoint) {
@@ -55,15 +260,11 @@ public class DistributedLockAspect {
         
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
         Method method = methodSignature.getMethod();
-        String[] parameterNames = methodSignature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-        
-        EvaluationContext context = new StandardEvaluationContext();
-        for (int i = 0; i < parameterNames.length; i++) {
-            context.setVariable(parameterNames[i], args[i]);
-        }
+        LockKeyResolver resolver = keyResolvers.computeIfAbsent(
+            method,
+            m -> new LockKeyResolver(keyExpression, methodSignature.getParameterNames())
+        );
         
-        Expression expression = parser.parseExpression(keyExpression);
-        return expression.getValue(context, String.class);
+        return resolver.resolve(joinPoint.getArgs());
     }
 }
\ No newline at end of file
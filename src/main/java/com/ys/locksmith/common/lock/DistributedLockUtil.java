@@ -1,12 +1,28 @@
 package com.ys.locksmith.common.lock;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 @Component
@@ -14,39 +30,191 @@ import java.util.function.Supplier;
 @Slf4j
 public class DistributedLockUtil {
     
-    private final RedissonClient redissonClient;
+    private static final int LOCAL_LOCK_STRIPES = 256;
+    static final double ADAPTIVE_LEASE_PERCENTILE = 0.99;
+    static final double ADAPTIVE_LEASE_SAFETY_FACTOR = 3.0;
+    static final long ADAPTIVE_LEASE_MIN_MILLIS = 500;
+    private static final long SPIN_BASE_BACKOFF_MILLIS = 5;
+    private static final long SPIN_MAX_BACKOFF_MILLIS = 100;
+    
+    // TOKEN 모드에서 이 스레드의 흐름이 보유 중인 키별 토큰. 같은 키를 다시 잠그면 토큰을 재사용해 재진입으로 처리한다
+    private static final ThreadLocal<Map<String, HeldToken>> HELD_TOKENS = new ThreadLocal<>();
+    
+    private final LockProvider lockProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final LockMetrics lockMetrics;
+    private final LocalLockStripes localLocks = new LocalLockStripes(LOCAL_LOCK_STRIPES);
+    private final AtomicLong ownerIds = new AtomicLong();
+    private final AdaptiveLease adaptiveLease = new AdaptiveLease(
+        ADAPTIVE_LEASE_PERCENTILE, ADAPTIVE_LEASE_SAFETY_FACTOR, ADAPTIVE_LEASE_MIN_MILLIS
+    );
+    
+    @Value("${locksmith.lock.ownership:THREAD}")
+    private LockOwnership ownership = LockOwnership.THREAD;
+    
+    // ADAPTIVE면 leaseTime은 상한으로만 쓰고 실제 lease는 최근 실행 시간으로 정한다
+    @Value("${locksmith.lock.lease:FIXED}")
+    private LeaseStrategy leaseStrategy = LeaseStrategy.FIXED;
     
     public <T> T executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
-        RLock lock = redissonClient.getLock(lockKey);
+        return executeWithLock(lockKey, LockMode.EXCLUSIVE, waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    // READ 락끼리는 동시에 실행되고 WRITE 락과만 배타적이다
+    public <T> T executeWithLock(String lockKey, LockMode mode, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        return executeLocked(lockOf(lockKey, mode), lockKey, LockMetrics.keyPrefix(lockKey), waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    // 같은 키에는 항상 같은 대기 방식을 사용한다. FAIR는 일반 락과 다른 자료구조를 쓰므로 섞으면 서로를 배제하지 못한다
+    public <T> T executeWithLock(String lockKey, WaitStrategy waitStrategy, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                 Supplier<T> supplier) {
+        if (waitStrategy == WaitStrategy.PUBSUB) {
+            return executeWithLock(lockKey, waitTime, leaseTime, timeUnit, supplier);
+        }
+        return executeLocked(lockOf(lockKey, waitStrategy), lockKey, LockMetrics.keyPrefix(lockKey), waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    // 같은 키의 대기자 중 우선순위가 높은 요청이 먼저 락을 얻는다. 같은 키에는 항상 우선순위 락을 사용한다
+    public <T> T executeWithLock(String lockKey, LockPriority priority, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                 Supplier<T> supplier) {
+        return executeLocked(
+            lockProvider.getPriorityLock(lockKey, priority), lockKey, LockMetrics.keyPrefix(lockKey), waitTime, leaseTime, timeUnit, supplier
+        );
+    }
+    
+    public <T> T executeWithReadLock(String lockKey, Supplier<T> supplier) {
+        return executeWithLock(lockKey, LockMode.READ, 10, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    public <T> T executeWithWriteLock(String lockKey, Supplier<T> supplier) {
+        return executeWithLock(lockKey, LockMode.WRITE, 10, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    public void executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Runnable runnable) {
+        executeWithLock(lockKey, waitTime, leaseTime, timeUnit, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+    
+    // 여러 키를 정렬된 순서로 한꺼번에 잡는다. 호출마다 같은 순서로 획득하므로 서로 다른 키 묶음끼리 교착되지 않는다
+    public <T> T executeWithMultiLock(Collection<String> lockKeys, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        List<String> orderedKeys = orderLockKeys(lockKeys);
+        if (orderedKeys.size() == 1) {
+            return executeWithLock(orderedKeys.get(0), waitTime, leaseTime, timeUnit, supplier);
+        }
+        
+        return executeLocked(
+            lockProvider.getMultiLock(orderedKeys),
+            orderedKeys.toString(),
+            LockMetrics.keyPrefix(orderedKeys.get(0)),
+            waitTime, leaseTime, timeUnit, supplier
+        );
+    }
+    
+    public <T> T executeWithMultiLock(Collection<String> lockKeys, Supplier<T> supplier) {
+        return executeWithMultiLock(lockKeys, 10, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    public <T> T executeWithMultiLockInTransaction(Collection<String> lockKeys, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        warnIfTransactionActive(lockKeys);
+        
+        return executeWithMultiLock(lockKeys, waitTime, leaseTime, timeUnit, () -> executeInTransaction(supplier));
+    }
+    
+    // 클라이언트가 응답을 기다리는 시간보다 오래 락을 기다리지 않는다
+    private <T> T executeLocked(LockHandle lock, String lockKey, String keyPrefix, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                Supplier<T> supplier) {
+        long budgetMillis = RequestDeadline.remainingMillis();
+        if (budgetMillis < timeUnit.toMillis(waitTime)) {
+            RequestDeadline.check();
+            return acquireAndRun(lock, lockKey, keyPrefix, budgetMillis, toMillis(leaseTime, timeUnit), TimeUnit.MILLISECONDS, supplier);
+        }
+        
+        return acquireAndRun(lock, lockKey, keyPrefix, waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    private <T> T acquireAndRun(LockHandle lock, String lockKey, String keyPrefix, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                Supplier<T> supplier) {
+        if (ownership == LockOwnership.TOKEN) {
+            return executeWithTokenLock(lock, lockKey, keyPrefix, waitTime, leaseTime, timeUnit, supplier);
+        }
+        
+        String strategy = LockMetrics.currentStrategy();
+        boolean adaptive = usesAdaptiveLease(leaseTime);
+        long leaseMillis = adaptive ? adaptiveLease.leaseMillis(keyPrefix, timeUnit.toMillis(leaseTime)) : leaseTime;
+        long startedAt = System.nanoTime();
+        long acquiredAt = startedAt;
+        ScheduledFuture<?> renewal = null;
         
         try {
-            boolean isLocked = lock.tryLock(waitTime, leaseTime, timeUnit);
+            boolean isLocked = adaptive
+                ? lock.tryLock(timeUnit.toMillis(waitTime), leaseMillis, TimeUnit.MILLISECONDS)
+                : lock.tryLock(waitTime, leaseTime, timeUnit);
+            acquiredAt = System.nanoTime();
             
             if (!isLocked) {
+                lockMetrics.recordTimeout(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
                 log.warn("분산락 획득 실패: {}", lockKey);
-                throw new IllegalStateException("락을 획득할 수 없습니다: " + lockKey);
+                throw contended(lock, lockKey);
             }
             
+            lockMetrics.recordAcquired(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
             log.debug("분산락 획득 성공: {}", lockKey);
-            return supplier.get();
+            if (adaptive) {
+                renewal = adaptiveLease.keepAlive(lock, lockKey, Thread.currentThread().threadId(), leaseMillis);
+            }
+            return runWithinLease(lockKey, keyPrefix, strategy, acquiredAt, leaseTime, timeUnit, supplier);
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            lockMetrics.recordInterrupted(lockKey, keyPrefix, strategy, System.nanoTime() - startedAt);
             log.error("분산락 대기 중 인터럽트 발생: {}", lockKey, e);
             throw new RuntimeException("락 획득 중 인터럽트 발생", e);
         } finally {
             if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("분산락 해제: {}", lockKey);
+                long heldSince = acquiredAt;
+                ScheduledFuture<?> heldRenewal = renewal;
+                releaseAfterTransaction(lockKey, () -> {
+                    cancelRenewal(heldRenewal);
+                    lock.unlock();
+                    recordHold(keyPrefix, strategy, System.nanoTime() - heldSince);
+                    log.debug("분산락 해제: {}", lockKey);
+                });
+            } else {
+                cancelRenewal(renewal);
             }
         }
     }
     
-    public void executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Runnable runnable) {
-        executeWithLock(lockKey, waitTime, leaseTime, timeUnit, () -> {
-            runnable.run();
-            return null;
-        });
+    // 락을 먼저 획득한 뒤 트랜잭션을 시작하므로 락 대기 중에는 JDBC 커넥션을 점유하지 않는다
+    public <T> T executeWithLockInTransaction(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        return executeWithLockInTransaction(lockKey, LockMode.EXCLUSIVE, waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    public <T> T executeWithLockInTransaction(String lockKey, LockMode mode, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                              Supplier<T> supplier) {
+        warnIfTransactionActive(lockKey);
+        
+        return executeWithLock(lockKey, mode, waitTime, leaseTime, timeUnit, () -> executeInTransaction(supplier));
+    }
+    
+    public <T> T executeWithLockInTransaction(String lockKey, WaitStrategy waitStrategy, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                              Supplier<T> supplier) {
+        warnIfTransactionActive(lockKey);
+        
+        return executeWithLock(lockKey, waitStrategy, waitTime, leaseTime, timeUnit, () -> executeInTransaction(supplier));
+    }
+    
+    public <T> T executeWithLockInTransaction(String lockKey, LockPriority priority, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                              Supplier<T> supplier) {
+        warnIfTransactionActive(lockKey);
+        
+        return executeWithLock(lockKey, priority, waitTime, leaseTime, timeUnit, () -> executeInTransaction(supplier));
+    }
+    
+    public <T> T executeWithLockInTransaction(String lockKey, Supplier<T> supplier) {
+        return executeWithLockInTransaction(lockKey, 10, 30, TimeUnit.SECONDS, supplier);
     }
     
     public <T> T executeWithLock(String lockKey, Supplier<T> supplier) {
@@ -56,4 +224,337 @@ public class DistributedLockUtil {
     public void executeWithLock(String lockKey, Runnable runnable) {
         executeWithLock(lockKey, 10, 30, TimeUnit.SECONDS, runnable);
     }
+    
+    // 기다리지 않고 바로 LockContendedException을 던진다. 호출자는 Retry-After 이후 다시 시도한다
+    public <T> T executeWithLockOrFail(String lockKey, Supplier<T> supplier) {
+        return executeWithLock(lockKey, 0, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    public <T> T executeWithLockInTransactionOrFail(String lockKey, Supplier<T> supplier) {
+        return executeWithLockInTransaction(lockKey, 0, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    // 락 대기 동안 스레드를 점유하지 않는다. 락 소유자는 호출 스레드가 아닌 호출마다 발급한 ID로 식별한다
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                                         Supplier<CompletionStage<T>> supplier) {
+        long budgetMillis = RequestDeadline.remainingMillis();
+        if (budgetMillis < timeUnit.toMillis(waitTime)) {
+            try {
+                RequestDeadline.check();
+            } catch (RequestDeadlineExceededException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return acquireAndRunAsync(lockKey, budgetMillis, toMillis(leaseTime, timeUnit), TimeUnit.MILLISECONDS, supplier);
+        }
+        
+        return acquireAndRunAsync(lockKey, waitTime, leaseTime, timeUnit, supplier);
+    }
+    
+    private <T> CompletableFuture<T> acquireAndRunAsync(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                                        Supplier<CompletionStage<T>> supplier) {
+        LockHandle lock = lockProvider.getLock(lockKey);
+        long ownerId = nextOwnerId();
+        String keyPrefix = LockMetrics.keyPrefix(lockKey);
+        String strategy = LockMetrics.currentStrategy();
+        long startedAt = System.nanoTime();
+        
+        return lock.tryLockAsync(waitTime, leaseTime, timeUnit, ownerId)
+            .thenCompose(isLocked -> {
+                long acquiredAt = System.nanoTime();
+                if (!isLocked) {
+                    lockMetrics.recordTimeout(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
+                    log.warn("분산락 획득 실패: {}", lockKey);
+                    // Redisson 응답 스레드에서 TTL을 동기 조회하지 않도록 남은 lease는 비워 둔다
+                    return CompletableFuture.<T>failedFuture(new LockContendedException(lockKey, -1));
+                }
+                
+                lockMetrics.recordAcquired(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
+                log.debug("분산락 획득 성공: {}", lockKey);
+                return runAndUnlockAsync(lock, lockKey, ownerId, supplier)
+                    .whenComplete((result, error) -> lockMetrics.recordHold(keyPrefix, strategy, System.nanoTime() - acquiredAt));
+            })
+            .toCompletableFuture();
+    }
+    
+    public <T> CompletableFuture<T> executeWithLockAsync(String lockKey, Supplier<CompletionStage<T>> supplier) {
+        return executeWithLockAsync(lockKey, 10, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    // 같은 노드의 스레드는 로컬 stripe 락에서 먼저 경합하고, 승자만 Redis 락을 시도한다
+    public <T> T executeWithTwoTierLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        RequestDeadline.check();
+        Lock localLock = localLocks.get(lockKey);
+        long waitNanos = Math.min(timeUnit.toNanos(waitTime), RequestDeadline.remainingNanos());
+        long deadline = System.nanoTime() + waitNanos;
+        
+        try {
+            if (!localLock.tryLock(waitNanos, TimeUnit.NANOSECONDS)) {
+                log.warn("로컬 락 획득 실패: {}", lockKey);
+                throw new LockContendedException(lockKey, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("로컬 락 대기 중 인터럽트 발생: {}", lockKey, e);
+            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
+        }
+        
+        try {
+            long remainingWaitMillis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, deadline - System.nanoTime()));
+            return executeWithLock(lockKey, remainingWaitMillis, toMillis(leaseTime, timeUnit), TimeUnit.MILLISECONDS, supplier);
+        } finally {
+            releaseAfterTransaction(lockKey, localLock::unlock);
+        }
+    }
+    
+    public <T> T executeWithTwoTierLock(String lockKey, Supplier<T> supplier) {
+        return executeWithTwoTierLock(lockKey, 10, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    private <T> CompletionStage<T> runAndUnlockAsync(LockHandle lock, String lockKey, long ownerId, Supplier<CompletionStage<T>> supplier) {
+        CompletionStage<T> work;
+        try {
+            work = supplier.get();
+        } catch (RuntimeException e) {
+            work = CompletableFuture.failedFuture(e);
+        }
+        
+        return work
+            .handle((result, error) -> lock.unlockAsync(ownerId).handle((unlocked, unlockError) -> {
+                if (unlockError != null) {
+                    log.warn("분산락 해제 실패: {}", lockKey, unlockError);
+                } else {
+                    log.debug("분산락 해제: {}", lockKey);
+                }
+                if (error != null) {
+                    throw error instanceof CompletionException completionException
+                        ? completionException
+                        : new CompletionException(error);
+                }
+                return result;
+            }))
+            .thenCompose(Function.identity());
+    }
+    
+    // 스레드 ID 대신 발급한 토큰으로 락을 잡고 해제하므로 해제가 어느 스레드에서 일어나도 소유권이 맞는다
+    // 가상 스레드는 캐리어가 바뀌어도 스레드 ID가 그대로이므로 THREAD로도 정확하며, 이 모드는 소유권을 스레드와 분리하는 선택지다
+    // 같은 흐름의 중첩 호출은 THREAD 모드처럼 재진입해야 하므로 보유 중인 키는 같은 토큰으로 다시 잡는다
+    private <T> T executeWithTokenLock(LockHandle lock, String lockKey, String keyPrefix, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                       Supplier<T> supplier) {
+        String strategy = LockMetrics.currentStrategy();
+        boolean adaptive = usesAdaptiveLease(leaseTime);
+        long leaseMillis = adaptive ? adaptiveLease.leaseMillis(keyPrefix, timeUnit.toMillis(leaseTime)) : leaseTime;
+        long startedAt = System.nanoTime();
+        long ownerId = tokenFor(lockKey);
+        CompletableFuture<Boolean> acquisition = (adaptive
+            ? lock.tryLockAsync(timeUnit.toMillis(waitTime), leaseMillis, TimeUnit.MILLISECONDS, ownerId)
+            : lock.tryLockAsync(waitTime, leaseTime, timeUnit, ownerId)).toCompletableFuture();
+        
+        boolean isLocked;
+        try {
+            isLocked = acquisition.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 대기를 포기해도 요청은 진행 중이므로 뒤늦게 획득되면 바로 해제한다
+            acquisition.thenAccept(locked -> {
+                if (Boolean.TRUE.equals(locked)) {
+                    lock.unlockAsync(ownerId);
+                }
+            });
+            lockMetrics.recordInterrupted(lockKey, keyPrefix, strategy, System.nanoTime() - startedAt);
+            log.error("분산락 대기 중 인터럽트 발생: {}", lockKey, e);
+            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            log.error("분산락 획득 중 오류 발생: {}", lockKey, e.getCause());
+            throw new IllegalStateException("락을 획득할 수 없습니다: " + lockKey, e.getCause());
+        }
+        
+        long acquiredAt = System.nanoTime();
+        if (!isLocked) {
+            lockMetrics.recordTimeout(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
+            log.warn("분산락 획득 실패: {}", lockKey);
+            throw contended(lock, lockKey);
+        }
+        
+        lockMetrics.recordAcquired(lockKey, keyPrefix, strategy, acquiredAt - startedAt);
+        log.debug("분산락 획득 성공: {}", lockKey);
+        holdToken(lockKey, ownerId);
+        ScheduledFuture<?> renewal = adaptive ? adaptiveLease.keepAlive(lock, lockKey, ownerId, leaseMillis) : null;
+        try {
+            return runWithinLease(lockKey, keyPrefix, strategy, acquiredAt, leaseTime, timeUnit, supplier);
+        } finally {
+            releaseAfterTransaction(lockKey, () -> {
+                releaseToken(lockKey);
+                cancelRenewal(renewal);
+                lock.unlockAsync(ownerId).toCompletableFuture().join();
+                recordHold(keyPrefix, strategy, System.nanoTime() - acquiredAt);
+                log.debug("분산락 해제: {}", lockKey);
+            });
+        }
+    }
+    
+    // lease 만료 전에 끝나지 않은 작업은 커밋하지 않고 롤백한다
+    <T> T executeInTransaction(Supplier<T> supplier) {
+        return transactionTemplate.execute(status -> {
+            T result = supplier.get();
+            LockDeadline.check();
+            return result;
+        });
+    }
+    
+    // 보호되는 코드가 LockDeadline으로 남은 lease를 확인할 수 있게 하고, lease를 넘기면 별도 예외로 알린다
+    private <T> T runWithinLease(String lockKey, String keyPrefix, String strategy, long acquiredAt, long leaseTime, TimeUnit timeUnit,
+                                 Supplier<T> supplier) {
+        // 락을 기다리는 사이 클라이언트가 떠났으면 작업을 시작하지 않는다
+        RequestDeadline.check();
+        if (leaseTime <= 0) {
+            return supplier.get();
+        }
+        
+        // 락 TTL은 응답을 받기 전에 이미 시작되었으므로 lease의 10%를 여유로 남긴다
+        long leaseNanos = timeUnit.toNanos(leaseTime);
+        try (LockDeadline.Scope ignored = LockDeadline.start(lockKey, acquiredAt + leaseNanos - leaseNanos / 10)) {
+            T result = supplier.get();
+            LockDeadline.check();
+            return result;
+        } catch (LockLeaseExpiredException e) {
+            if (lockKey.equals(e.getLockKey())) {
+                lockMetrics.recordLeaseExpired(keyPrefix, strategy);
+                log.error("임계 구역이 lease를 넘겨 실행되었습니다: {}", lockKey);
+            }
+            throw e;
+        }
+    }
+    
+    // 음수 leaseTime(watchdog 사용)은 단위와 관계없이 그대로 넘긴다
+    private static long toMillis(long leaseTime, TimeUnit timeUnit) {
+        return leaseTime < 0 ? leaseTime : timeUnit.toMillis(leaseTime);
+    }
+    
+    // leaseTime이 0 이하(watchdog 사용 등)면 호출자의 의도를 그대로 따른다
+    private boolean usesAdaptiveLease(long leaseTime) {
+        return leaseStrategy == LeaseStrategy.ADAPTIVE && leaseTime > 0;
+    }
+    
+    private void recordHold(String keyPrefix, String strategy, long holdNanos) {
+        lockMetrics.recordHold(keyPrefix, strategy, holdNanos);
+        if (leaseStrategy == LeaseStrategy.ADAPTIVE) {
+            adaptiveLease.record(keyPrefix, holdNanos);
+        }
+    }
+    
+    private static void cancelRenewal(ScheduledFuture<?> renewal) {
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        adaptiveLease.shutdown();
+    }
+    
+    // 재시도가 한꺼번에 몰리지 않도록 현재 보유자의 남은 lease를 함께 돌려준다
+    private LockContendedException contended(LockHandle lock, String lockKey) {
+        long retryAfterMillis;
+        try {
+            retryAfterMillis = lock.remainingLeaseMillis();
+        } catch (RuntimeException e) {
+            log.debug("락 TTL 조회 실패: {}", lockKey, e);
+            retryAfterMillis = -1;
+        }
+        return new LockContendedException(lockKey, retryAfterMillis);
+    }
+    
+    private LockHandle lockOf(String lockKey, LockMode mode) {
+        return switch (mode) {
+            case EXCLUSIVE -> lockProvider.getLock(lockKey);
+            case READ -> lockProvider.getReadLock(lockKey);
+            case WRITE -> lockProvider.getWriteLock(lockKey);
+        };
+    }
+    
+    private LockHandle lockOf(String lockKey, WaitStrategy waitStrategy) {
+        return switch (waitStrategy) {
+            case PUBSUB -> lockProvider.getLock(lockKey);
+            case SPIN -> new SpinningLockHandle(
+                lockProvider.getLock(lockKey), SPIN_BASE_BACKOFF_MILLIS, SPIN_MAX_BACKOFF_MILLIS, TimeUnit.MILLISECONDS
+            );
+            case FAIR -> lockProvider.getFairLock(lockKey);
+            // 우선순위를 모르는 채로 NORMAL을 가정하면 호출자가 의도한 순서와 달라지므로 우선순위를 받는 오버로드로 보낸다
+            case PRIORITY -> throw new IllegalArgumentException("PRIORITY 대기 방식은 LockPriority를 받는 메서드로 호출해야 합니다: " + lockKey);
+        };
+    }
+    
+    private static List<String> orderLockKeys(Collection<String> lockKeys) {
+        if (lockKeys == null || lockKeys.isEmpty()) {
+            throw new IllegalArgumentException("락 키가 비어 있습니다.");
+        }
+        return List.copyOf(new TreeSet<>(lockKeys));
+    }
+    
+    private long nextOwnerId() {
+        // 실제 스레드 ID(양수)와 겹치지 않도록 음수를 사용한다
+        return -ownerIds.incrementAndGet();
+    }
+    
+    private long tokenFor(String lockKey) {
+        Map<String, HeldToken> held = HELD_TOKENS.get();
+        HeldToken token = held != null ? held.get(lockKey) : null;
+        return token != null ? token.ownerId : nextOwnerId();
+    }
+    
+    private static void holdToken(String lockKey, long ownerId) {
+        Map<String, HeldToken> held = HELD_TOKENS.get();
+        if (held == null) {
+            held = new HashMap<>();
+            HELD_TOKENS.set(held);
+        }
+        held.computeIfAbsent(lockKey, key -> new HeldToken(ownerId)).depth++;
+    }
+    
+    // 트랜잭션 완료 후 해제도 같은 스레드의 afterCompletion에서 실행되므로 같은 맵을 본다
+    private static void releaseToken(String lockKey) {
+        Map<String, HeldToken> held = HELD_TOKENS.get();
+        HeldToken token = held != null ? held.get(lockKey) : null;
+        if (token == null || --token.depth > 0) {
+            return;
+        }
+        held.remove(lockKey);
+        if (held.isEmpty()) {
+            HELD_TOKENS.remove();
+        }
+    }
+    
+    // 락 대기 동안 JDBC 커넥션을 점유하게 되므로, 락을 먼저 잡도록 호출 순서를 바꿔야 한다는 신호로 남긴다
+    private static void warnIfTransactionActive(Object lockKey) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("트랜잭션이 이미 시작된 상태에서 분산락을 대기합니다: {}", lockKey);
+        }
+    }
+    
+    // 트랜잭션 안에서 호출되면 커밋/롤백이 끝난 뒤에 락을 해제해 커밋 전 다른 요청이 진입하지 못하게 한다
+    private void releaseAfterTransaction(String lockKey, Runnable release) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release.run();
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release.run();
+            }
+        });
+        log.debug("트랜잭션 완료 후 락 해제 예약: {}", lockKey);
+    }
+    
+    private static final class HeldToken {
+        
+        private final long ownerId;
+        private int depth;
+        
+        private HeldToken(long ownerId) {
+            this.ownerId = ownerId;
+        }
+    }
 }
\ No newline at end of file
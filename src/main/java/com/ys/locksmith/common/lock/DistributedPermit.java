@@ -0,0 +1,24 @@
+package com.ys.locksmith.common.lock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+// 클러스터 전체에서 같은 key로 동시에 실행되는 호출 수를 permits 개로 제한한다
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DistributedPermit {
+    
+    String key();
+    
+    int permits();
+    
+    long waitTime() default 10L;
+    
+    // 노드가 죽어 반환되지 못한 permit은 이 시간이 지나면 회수된다
+    long leaseTime() default 30L;
+    
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+}
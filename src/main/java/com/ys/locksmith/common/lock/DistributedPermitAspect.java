@@ -0,0 +1,38 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(2)
+public class DistributedPermitAspect {
+    
+    private final DistributedPermitUtil permitUtil;
+    
+    @Around("@annotation(distributedPermit)")
+    public Object executeWithPermit(ProceedingJoinPoint joinPoint, DistributedPermit distributedPermit) throws Throwable {
+        return permitUtil.executeWithPermit(
+            distributedPermit.key(),
+            distributedPermit.permits(),
+            distributedPermit.waitTime(),
+            distributedPermit.leaseTime(),
+            distributedPermit.timeUnit(),
+            () -> {
+                try {
+                    return joinPoint.proceed();
+                } catch (Throwable throwable) {
+                    if (throwable instanceof RuntimeException) {
+                        throw (RuntimeException) throwable;
+                    }
+                    throw new RuntimeException(throwable);
+                }
+            }
+        );
+    }
+}
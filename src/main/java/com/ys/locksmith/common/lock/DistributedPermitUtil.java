@@ -0,0 +1,52 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DistributedPermitUtil {
+    
+    private final PermitProvider permitProvider;
+    private final LockMetrics lockMetrics;
+    
+    public <T> T executeWithPermit(String permitKey, int permits, long waitTime, long leaseTime, TimeUnit timeUnit, Supplier<T> supplier) {
+        long startedAt = System.nanoTime();
+        String permitId;
+        
+        // 요청 기한이 더 짧으면 남은 시간만큼만 기다린다
+        RequestDeadline.check();
+        long budgetMillis = RequestDeadline.remainingMillis();
+        boolean clamped = budgetMillis < timeUnit.toMillis(waitTime);
+        
+        try {
+            permitId = clamped
+                ? permitProvider.tryAcquire(permitKey, permits, budgetMillis, timeUnit.toMillis(leaseTime), TimeUnit.MILLISECONDS)
+                : permitProvider.tryAcquire(permitKey, permits, waitTime, leaseTime, timeUnit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("permit 대기 중 인터럽트 발생: {}", permitKey, e);
+            throw new RuntimeException("permit 획득 중 인터럽트 발생", e);
+        }
+        
+        lockMetrics.recordPermitWait(permitKey, permitId != null, System.nanoTime() - startedAt);
+        
+        if (permitId == null) {
+            log.warn("permit 획득 실패: {}", permitKey);
+            throw new IllegalStateException("동시 실행 한도를 초과했습니다: " + permitKey);
+        }
+        
+        log.debug("permit 획득 성공: {}", permitKey);
+        try {
+            return supplier.get();
+        } finally {
+            permitProvider.release(permitKey, permitId);
+            log.debug("permit 반환: {}", permitKey);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.Getter;
+
+// 이미 처리가 끝난 주문 ID로 다시 요청한 상황. 처리 중인 주문은 LockContendedException으로 알린다
+@Getter
+public class DuplicateOrderException extends IllegalArgumentException {
+    
+    private final String orderId;
+    
+    public DuplicateOrderException(String orderId) {
+        super("이미 존재하는 주문 ID입니다: " + orderId);
+        this.orderId = orderId;
+    }
+}
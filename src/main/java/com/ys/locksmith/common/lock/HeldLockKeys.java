@@ -0,0 +1,56 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 현재 실행 흐름이 이미 보유한 락 키. 중첩된 @DistributedLock이 같은 키를 다시 획득하지 않게 한다
+final class HeldLockKeys {
+    
+    private static final ThreadLocal<Map<String, LockMode>> CURRENT = ThreadLocal.withInitial(HashMap::new);
+    
+    private HeldLockKeys() {
+    }
+    
+    // EXCLUSIVE와 읽기-쓰기 락은 서로 다른 락이므로 같은 종류끼리만 재진입으로 본다
+    static boolean covers(String lockKey, LockMode mode) {
+        LockMode held = CURRENT.get().get(lockKey);
+        if (held == null) {
+            return false;
+        }
+        
+        return switch (held) {
+            case EXCLUSIVE -> mode != LockMode.READ && mode != LockMode.WRITE;
+            case WRITE -> mode == LockMode.READ || mode == LockMode.WRITE;
+            case READ -> mode == LockMode.READ;
+        };
+    }
+    
+    // 락을 획득한 뒤 실행되는 supplier 안에서만 키를 보유한 것으로 기록한다
+    static <T> Supplier<T> holding(Collection<String> lockKeys, LockMode mode, Supplier<T> supplier) {
+        LockMode heldMode = mode == LockMode.READ || mode == LockMode.WRITE ? mode : LockMode.EXCLUSIVE;
+        return () -> {
+            Map<String, LockMode> held = CURRENT.get();
+            Map<String, LockMode> previous = new HashMap<>();
+            for (String lockKey : lockKeys) {
+                previous.put(lockKey, held.put(lockKey, heldMode));
+            }
+            
+            try {
+                return supplier.get();
+            } finally {
+                previous.forEach((lockKey, previousMode) -> {
+                    if (previousMode == null) {
+                        held.remove(lockKey);
+                    } else {
+                        held.put(lockKey, previousMode);
+                    }
+                });
+                if (held.isEmpty()) {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,228 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Space-Saving 알고리즘으로 대기가 많은 락 키 상위 N개를 고정된 메모리 안에서 추적한다
+// 기록 경로는 미리 할당한 배열만 사용하므로 호출마다 객체를 만들지 않는다
+// 모든 락 대기가 이 한 곳을 거치므로, 다른 스레드가 기록 중이면 기다리지 않고 그 샘플을 버린다
+public class HotKeyTracker {
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder dropped = new LongAdder();
+    private final String[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final long[] samples;
+    private final long[] waitNanos;
+    // counts 기준 최소 힙, 가장 적게 관측된 키가 교체 대상이다
+    private final int[] heap;
+    private final int[] heapIndex;
+    // 키 -> slot 조회용 선형 탐사 테이블 (slot + 1, 0은 빈 칸)
+    private final int[] table;
+    private final int tableMask;
+    private int size;
+    
+    public HotKeyTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("추적할 키 개수는 양수여야 합니다: " + capacity);
+        }
+        
+        this.keys = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.samples = new long[capacity];
+        this.waitNanos = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapIndex = new int[capacity];
+        // 부하율을 0.5 이하로 유지해 탐사 길이를 짧게 한다
+        int tableSize = Integer.highestOneBit(capacity) << 2;
+        this.table = new int[tableSize];
+        this.tableMask = tableSize - 1;
+    }
+    
+    // 버리는 샘플은 키와 무관하게 경합 시점에만 생기므로 상위 키의 순위는 유지되고 횟수만 덜 잡힌다
+    public void record(String lockKey, long waitNanos) {
+        if (!lock.tryLock()) {
+            dropped.increment();
+            return;
+        }
+        try {
+            int slot = find(lockKey);
+            if (slot < 0) {
+                slot = size < keys.length ? addSlot(lockKey) : replaceMin(lockKey);
+            }
+            
+            counts[slot]++;
+            samples[slot]++;
+            this.waitNanos[slot] += waitNanos;
+            siftDown(heapIndex[slot]);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // 관측 횟수가 많은 순으로 정렬한 스냅샷, 조회 시에만 객체를 만든다
+    public List<HotKey> top(int limit) {
+        List<HotKey> snapshot;
+        lock.lock();
+        try {
+            snapshot = new ArrayList<>(size);
+            for (int slot = 0; slot < size; slot++) {
+                snapshot.add(new HotKey(keys[slot], counts[slot], errors[slot], averageWaitMillis(slot)));
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        snapshot.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return List.copyOf(snapshot.subList(0, Math.min(limit, snapshot.size())));
+    }
+    
+    public void reset() {
+        lock.lock();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                keys[slot] = null;
+                counts[slot] = 0;
+                errors[slot] = 0;
+                samples[slot] = 0;
+                waitNanos[slot] = 0;
+            }
+            Arrays.fill(table, 0);
+            size = 0;
+            dropped.reset();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // 경합으로 기록하지 못한 샘플 수, count와 함께 보면 실제 관측량을 가늠할 수 있다
+    public long dropped() {
+        return dropped.sum();
+    }
+    
+    public int capacity() {
+        return keys.length;
+    }
+    
+    private int addSlot(String lockKey) {
+        int slot = size++;
+        keys[slot] = lockKey;
+        heap[slot] = slot;
+        heapIndex[slot] = slot;
+        insertIntoTable(slot);
+        siftUp(slot);
+        return slot;
+    }
+    
+    // 가장 적게 관측된 키를 밀어내고, 밀려난 횟수를 새 키의 오차로 넘겨받는다
+    private int replaceMin(String lockKey) {
+        int slot = heap[0];
+        removeFromTable(keys[slot]);
+        
+        keys[slot] = lockKey;
+        errors[slot] = counts[slot];
+        samples[slot] = 0;
+        waitNanos[slot] = 0;
+        insertIntoTable(slot);
+        return slot;
+    }
+    
+    private double averageWaitMillis(int slot) {
+        if (samples[slot] == 0) {
+            return 0;
+        }
+        return (double) waitNanos[slot] / samples[slot] / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+    
+    private int find(String lockKey) {
+        int index = hash(lockKey) & tableMask;
+        while (table[index] != 0) {
+            int slot = table[index] - 1;
+            if (keys[slot].equals(lockKey)) {
+                return slot;
+            }
+            index = (index + 1) & tableMask;
+        }
+        return -1;
+    }
+    
+    private void insertIntoTable(int slot) {
+        int index = hash(keys[slot]) & tableMask;
+        while (table[index] != 0) {
+            index = (index + 1) & tableMask;
+        }
+        table[index] = slot + 1;
+    }
+    
+    // 선형 탐사 체인이 끊기지 않도록 뒤쪽 항목을 당겨 온다
+    private void removeFromTable(String lockKey) {
+        int index = hash(lockKey) & tableMask;
+        while (!keys[table[index] - 1].equals(lockKey)) {
+            index = (index + 1) & tableMask;
+        }
+        table[index] = 0;
+        
+        int next = (index + 1) & tableMask;
+        while (table[next] != 0) {
+            int home = hash(keys[table[next] - 1]) & tableMask;
+            if (((next - home) & tableMask) >= ((next - index) & tableMask)) {
+                table[index] = table[next];
+                table[next] = 0;
+                index = next;
+            }
+            next = (next + 1) & tableMask;
+        }
+    }
+    
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[heap[position]]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+    
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && counts[heap[right]] < counts[heap[left]] ? right : left;
+            if (counts[heap[position]] <= counts[heap[smallest]]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+    
+    private void swap(int a, int b) {
+        int slotA = heap[a];
+        int slotB = heap[b];
+        heap[a] = slotB;
+        heap[b] = slotA;
+        heapIndex[slotB] = a;
+        heapIndex[slotA] = b;
+    }
+    
+    private static int hash(String lockKey) {
+        int hash = lockKey.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+    
+    // count는 실제 횟수의 상한이고, count - error 이상은 확실히 관측되었다
+    public record HotKey(String key, long count, long error, double averageWaitMillis) {
+    }
+}
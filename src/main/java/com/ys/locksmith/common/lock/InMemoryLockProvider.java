@@ -0,0 +1,269 @@
+package com.ys.locksmith.common.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 단일 노드 배포와 테스트용. 키를 stripe로 나눠 stripe마다 소유자 테이블과 대기 조건을 둔다
+@Component
+@ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "memory")
+public class InMemoryLockProvider extends AbstractLockProvider {
+    
+    private static final int STRIPES = 256;
+    private static final long ACQUIRED = -1;
+    
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final InMemoryLockWaitQueues waitQueues = new InMemoryLockWaitQueues();
+    
+    public InMemoryLockProvider() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "memory";
+    }
+    
+    @Override
+    public LockHandle getPriorityLock(String lockKey, LockPriority priority) {
+        return new PriorityLockHandle(getLock(lockKey), waitQueues.forKey(lockKey), priority);
+    }
+    
+    @Override
+    protected boolean tryLock(String lockKey, LockMode mode, long ownerId, long waitTime, long leaseTime, TimeUnit timeUnit)
+        throws InterruptedException {
+        Stripe stripe = stripeOf(lockKey);
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        long leaseNanos = leaseTime < 0 ? -1 : timeUnit.toNanos(leaseTime);
+        
+        stripe.mutex.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long blockedNanos = tryAcquire(stripe, lockKey, mode, ownerId, now, leaseNanos);
+                if (blockedNanos == ACQUIRED) {
+                    return true;
+                }
+                
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return false;
+                }
+                // 리스가 걸린 락은 만료 시점에 스스로 깨어나 다시 확인한다
+                stripe.released.awaitNanos(Math.min(remaining, blockedNanos));
+            }
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+    
+    @Override
+    protected boolean isHeld(String lockKey, LockMode mode, long ownerId) {
+        Stripe stripe = stripeOf(lockKey);
+        
+        stripe.mutex.lock();
+        try {
+            return isLive(holderOf(stripe, lockKey, mode, ownerId), ownerId, System.nanoTime());
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+    
+    @Override
+    protected void unlock(String lockKey, LockMode mode, long ownerId) {
+        Stripe stripe = stripeOf(lockKey);
+        
+        stripe.mutex.lock();
+        try {
+            Holder holder = holderOf(stripe, lockKey, mode, ownerId);
+            if (!isLive(holder, ownerId, System.nanoTime())) {
+                throw new IllegalMonitorStateException("락을 보유하고 있지 않습니다: " + lockKey);
+            }
+            
+            if (--holder.holdCount == 0) {
+                release(stripe, lockKey, mode, ownerId);
+                stripe.released.signalAll();
+            }
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+    
+    // 요청한 모드를 막고 있는 보유자 중 가장 늦게 만료되는 lease
+    @Override
+    protected long remainingLeaseMillis(String lockKey, LockMode mode) {
+        Stripe stripe = stripeOf(lockKey);
+        
+        stripe.mutex.lock();
+        try {
+            long now = System.nanoTime();
+            List<Holder> blocking = new ArrayList<>();
+            if (mode == LockMode.EXCLUSIVE) {
+                blocking.add(stripe.holders.get(lockKey));
+            } else {
+                ReadWriteHolders readWrite = stripe.readWrite.get(lockKey);
+                if (readWrite != null) {
+                    blocking.add(readWrite.writer);
+                    if (mode == LockMode.WRITE) {
+                        blocking.addAll(readWrite.readers.values());
+                    }
+                }
+            }
+            
+            long remainingNanos = 0;
+            for (Holder holder : blocking) {
+                if (holder == null || holder.isExpired(now)) {
+                    continue;
+                }
+                long untilExpiry = holder.nanosUntilExpiry(now);
+                if (untilExpiry == Long.MAX_VALUE) {
+                    return -1;
+                }
+                remainingNanos = Math.max(remainingNanos, untilExpiry);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(remainingNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+        } finally {
+            stripe.mutex.unlock();
+        }
+    }
+    
+    // 획득하면 ACQUIRED, 아니면 막고 있는 리스가 만료될 때까지 남은 시간을 돌려준다
+    private long tryAcquire(Stripe stripe, String lockKey, LockMode mode, long ownerId, long now, long leaseNanos) {
+        if (mode == LockMode.EXCLUSIVE) {
+            Holder holder = stripe.holders.get(lockKey);
+            if (holder == null || holder.isExpired(now)) {
+                stripe.holders.put(lockKey, new Holder(ownerId, now, leaseNanos));
+                return ACQUIRED;
+            }
+            return reenterOrBlock(holder, ownerId, now, leaseNanos);
+        }
+        
+        ReadWriteHolders readWrite = stripe.readWrite.computeIfAbsent(lockKey, key -> new ReadWriteHolders());
+        readWrite.readers.values().removeIf(reader -> reader.isExpired(now));
+        Holder writer = readWrite.writer;
+        boolean writeLocked = writer != null && !writer.isExpired(now);
+        
+        if (mode == LockMode.READ) {
+            if (writeLocked && writer.ownerId != ownerId) {
+                return writer.nanosUntilExpiry(now);
+            }
+            Holder reader = readWrite.readers.get(ownerId);
+            if (reader == null) {
+                readWrite.readers.put(ownerId, new Holder(ownerId, now, leaseNanos));
+            } else {
+                reader.reenter(now, leaseNanos);
+            }
+            return ACQUIRED;
+        }
+        
+        if (writeLocked) {
+            return reenterOrBlock(writer, ownerId, now, leaseNanos);
+        }
+        // 읽기 락이 하나라도 남아 있으면 쓰기 락을 잡을 수 없다
+        long blockedNanos = readWrite.readers.values().stream()
+            .mapToLong(reader -> reader.nanosUntilExpiry(now))
+            .min()
+            .orElse(ACQUIRED);
+        if (blockedNanos == ACQUIRED) {
+            readWrite.writer = new Holder(ownerId, now, leaseNanos);
+        }
+        return blockedNanos;
+    }
+    
+    private long reenterOrBlock(Holder holder, long ownerId, long now, long leaseNanos) {
+        if (holder.ownerId == ownerId) {
+            holder.reenter(now, leaseNanos);
+            return ACQUIRED;
+        }
+        return holder.nanosUntilExpiry(now);
+    }
+    
+    private Holder holderOf(Stripe stripe, String lockKey, LockMode mode, long ownerId) {
+        if (mode == LockMode.EXCLUSIVE) {
+            return stripe.holders.get(lockKey);
+        }
+        
+        ReadWriteHolders readWrite = stripe.readWrite.get(lockKey);
+        if (readWrite == null) {
+            return null;
+        }
+        return mode == LockMode.READ ? readWrite.readers.get(ownerId) : readWrite.writer;
+    }
+    
+    private void release(Stripe stripe, String lockKey, LockMode mode, long ownerId) {
+        if (mode == LockMode.EXCLUSIVE) {
+            stripe.holders.remove(lockKey);
+            return;
+        }
+        
+        ReadWriteHolders readWrite = stripe.readWrite.get(lockKey);
+        if (mode == LockMode.READ) {
+            readWrite.readers.remove(ownerId);
+        } else {
+            readWrite.writer = null;
+        }
+        if (readWrite.writer == null && readWrite.readers.isEmpty()) {
+            stripe.readWrite.remove(lockKey);
+        }
+    }
+    
+    private static boolean isLive(Holder holder, long ownerId, long now) {
+        return holder != null && holder.ownerId == ownerId && !holder.isExpired(now);
+    }
+    
+    private Stripe stripeOf(String lockKey) {
+        int hash = lockKey.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+    
+    private static class Stripe {
+        private final ReentrantLock mutex = new ReentrantLock();
+        private final Condition released = mutex.newCondition();
+        private final Map<String, Holder> holders = new HashMap<>();
+        private final Map<String, ReadWriteHolders> readWrite = new HashMap<>();
+    }
+    
+    private static class ReadWriteHolders {
+        private Holder writer;
+        private final Map<Long, Holder> readers = new HashMap<>();
+    }
+    
+    private static class Holder {
+        private final long ownerId;
+        private int holdCount = 1;
+        private boolean leased;
+        private long expiresAt;
+        
+        Holder(long ownerId, long now, long leaseNanos) {
+            this.ownerId = ownerId;
+            extend(now, leaseNanos);
+        }
+        
+        void reenter(long now, long leaseNanos) {
+            holdCount++;
+            extend(now, leaseNanos);
+        }
+        
+        boolean isExpired(long now) {
+            return leased && now - expiresAt >= 0;
+        }
+        
+        long nanosUntilExpiry(long now) {
+            return leased ? expiresAt - now : Long.MAX_VALUE;
+        }
+        
+        private void extend(long now, long leaseNanos) {
+            this.leased = leaseNanos >= 0;
+            this.expiresAt = now + Math.max(leaseNanos, 0);
+        }
+    }
+}
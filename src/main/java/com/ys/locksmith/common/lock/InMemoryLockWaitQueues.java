@@ -0,0 +1,97 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 단일 노드용 우선순위 대기열. 모든 키의 대기열을 락 하나로 관리하고, 빈 대기열은 바로 정리한다
+class InMemoryLockWaitQueues {
+    
+    private static final long STALE_WAITER_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final Comparator<Waiter> ORDER = Comparator
+        .comparingInt((Waiter waiter) -> waiter.priority.ordinal())
+        .thenComparingLong(waiter -> waiter.sequence);
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TreeSet<Waiter>> queues = new HashMap<>();
+    private final Map<String, Waiter> waiters = new HashMap<>();
+    private long sequence;
+    
+    LockWaitQueue forKey(String lockKey) {
+        return new LockWaitQueue() {
+            
+            @Override
+            public CompletionStage<Boolean> enter(String waiterId, LockPriority priority) {
+                return CompletableFuture.completedFuture(InMemoryLockWaitQueues.this.enter(lockKey, waiterId, priority));
+            }
+            
+            @Override
+            public CompletionStage<Void> leave(String waiterId) {
+                InMemoryLockWaitQueues.this.leave(lockKey, waiterId);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+    }
+    
+    private boolean enter(String lockKey, String waiterId, LockPriority priority) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            TreeSet<Waiter> queue = queues.computeIfAbsent(lockKey, key -> new TreeSet<>(ORDER));
+            Waiter waiter = waiters.get(waiterId);
+            if (waiter == null) {
+                waiter = new Waiter(waiterId, priority, sequence++);
+                waiters.put(waiterId, waiter);
+                queue.add(waiter);
+            }
+            waiter.lastSeenNanos = now;
+            
+            // 선두만 확인하면 되므로 떠난 대기자도 선두에 올 때 치운다
+            Waiter head = queue.first();
+            while (head != waiter && now - head.lastSeenNanos > STALE_WAITER_NANOS) {
+                queue.pollFirst();
+                waiters.remove(head.id);
+                head = queue.first();
+            }
+            return head == waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void leave(String lockKey, String waiterId) {
+        lock.lock();
+        try {
+            Waiter waiter = waiters.remove(waiterId);
+            TreeSet<Waiter> queue = queues.get(lockKey);
+            if (waiter == null || queue == null) {
+                return;
+            }
+            queue.remove(waiter);
+            if (queue.isEmpty()) {
+                queues.remove(lockKey);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static class Waiter {
+        
+        private final String id;
+        private final LockPriority priority;
+        private final long sequence;
+        private long lastSeenNanos;
+        
+        Waiter(String id, LockPriority priority, long sequence) {
+            this.id = id;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
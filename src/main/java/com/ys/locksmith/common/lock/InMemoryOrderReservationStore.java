@@ -0,0 +1,89 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Redis 없이 띄울 때 사용한다. 노드 안에서만 중복을 막고, 노드 사이의 중복은 DB unique 제약이 막는다
+@Component
+@ConditionalOnExpression("'${locksmith.lock.provider:redis}' != 'redis'")
+@Slf4j
+public class InMemoryOrderReservationStore implements OrderReservationStore {
+    
+    // 만료된 예약은 조회될 때 덮어쓰지만, 다시 조회되지 않는 주문도 있으므로 주기적으로 정리한다
+    private static final int PURGE_INTERVAL = 1024;
+    
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicLong reserveCount = new AtomicLong();
+    
+    @Override
+    public long reserve(String orderId, String token, long leaseMillis) {
+        if (reserveCount.incrementAndGet() % PURGE_INTERVAL == 0) {
+            long now = System.currentTimeMillis();
+            reservations.values().removeIf(reservation -> reservation.expiresAt <= now);
+        }
+        
+        long[] result = {RESERVED};
+        reservations.compute(orderId, (key, current) -> {
+            long now = System.currentTimeMillis();
+            if (current == null || current.expiresAt <= now) {
+                return new Reservation(token, true, now + leaseMillis);
+            }
+            result[0] = current.locked ? Math.max(current.expiresAt - now, 1) : COMPLETED;
+            return current;
+        });
+        return result[0];
+    }
+    
+    @Override
+    public boolean renew(String orderId, String token, long leaseMillis) {
+        boolean[] renewed = {false};
+        reservations.computeIfPresent(orderId, (key, current) -> {
+            if (!current.isLockedBy(token)) {
+                return current;
+            }
+            renewed[0] = true;
+            return new Reservation(token, true, System.currentTimeMillis() + leaseMillis);
+        });
+        return renewed[0];
+    }
+    
+    @Override
+    public boolean complete(String orderId, String token, long retentionMillis) {
+        boolean[] completed = {false};
+        reservations.computeIfPresent(orderId, (key, current) -> {
+            if (!current.isLockedBy(token)) {
+                return current;
+            }
+            completed[0] = true;
+            return new Reservation(token, false, System.currentTimeMillis() + retentionMillis);
+        });
+        return completed[0];
+    }
+    
+    @Override
+    public void release(String orderId, String token) {
+        boolean[] released = {false};
+        reservations.computeIfPresent(orderId, (key, current) -> {
+            if (!current.isLockedBy(token)) {
+                return current;
+            }
+            released[0] = true;
+            return null;
+        });
+        if (!released[0]) {
+            log.warn("이미 만료된 주문 예약입니다: orderId={}", orderId);
+        }
+    }
+    
+    private record Reservation(String token, boolean locked, long expiresAt) {
+        
+        boolean isLockedBy(String token) {
+            return locked && this.token.equals(token) && expiresAt > System.currentTimeMillis();
+        }
+    }
+}
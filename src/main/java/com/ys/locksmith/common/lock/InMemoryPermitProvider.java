@@ -0,0 +1,45 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Redis 없이 띄울 때 사용한다. 노드 단위로만 제한하며, permit은 항상 같은 노드에서 반환되므로 리스는 두지 않는다
+@Component
+@ConditionalOnExpression("'${locksmith.lock.provider:redis}' != 'redis'")
+@Slf4j
+public class InMemoryPermitProvider implements PermitProvider {
+    
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+    private final Set<String> issuedPermits = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public String tryAcquire(String permitKey, int permits, long waitTime, long leaseTime, TimeUnit timeUnit)
+        throws InterruptedException {
+        Semaphore semaphore = semaphores.computeIfAbsent(permitKey, key -> new Semaphore(permits, true));
+        
+        if (!semaphore.tryAcquire(waitTime, timeUnit)) {
+            return null;
+        }
+        
+        String permitId = UUID.randomUUID().toString();
+        issuedPermits.add(permitId);
+        return permitId;
+    }
+    
+    @Override
+    public void release(String permitKey, String permitId) {
+        if (!issuedPermits.remove(permitId)) {
+            log.warn("발급되지 않았거나 이미 반환된 permit입니다: {}, permitId={}", permitKey, permitId);
+            return;
+        }
+        semaphores.get(permitKey).release();
+    }
+}
@@ -0,0 +1,187 @@
+package com.ys.locksmith.common.lock;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 락 테이블의 행을 리스로 사용한다. 커넥션에 묶이는 DB 세션 락과 달리 락을 보유하는 동안 커넥션을 점유하지 않는다
+// 읽기 락도 단독 락으로 처리하므로 정합성은 지켜지지만 읽기끼리 병렬로 실행되지는 않는다
+// 만료 시각은 DB의 LOCALTIMESTAMP로 계산하고 비교하므로 노드 사이의 시계 차이가 리스에 영향을 주지 않는다
+// 락 SQL은 애플리케이션 풀과 분리된 작은 전용 풀에서 실행한다. 같은 풀을 쓰면 트랜잭션 안의 락 호출마다 커넥션을 하나 더 빌리고,
+// 커넥션을 쥔 채 락을 기다리는 요청이 풀을 채우면 보유자가 락을 해제할 커넥션조차 얻지 못한다
+// TIMESTAMP(6), LOCALTIMESTAMP(6), CREATE TABLE IF NOT EXISTS를 쓰므로 H2, MySQL, MariaDB, PostgreSQL에서만 동작한다
+@Component
+@ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "jdbc")
+@Slf4j
+public class JdbcLockProvider extends AbstractLockProvider {
+    
+    // 워치독 갱신이 없으므로 리스 없이(-1) 요청된 락도 이 시간이 지나면 만료된다
+    private static final long DEFAULT_LEASE_MILLIS = 30_000;
+    private static final long RETRY_INTERVAL_MILLIS = 50;
+    private static final Set<String> SUPPORTED_DATABASES = Set.of("H2", "MySQL", "MariaDB", "PostgreSQL");
+    
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lockTransaction;
+    // 스레드 ID와 토큰은 노드 안에서만 유일하므로 노드 ID를 붙여 소유자를 구분한다
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    @Autowired
+    public JdbcLockProvider(DataSourceProperties dataSourceProperties,
+                            @Value("${locksmith.lock.jdbc.pool-size:4}") int poolSize) {
+        this(createLockPool(dataSourceProperties, poolSize));
+    }
+    
+    JdbcLockProvider(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // 트랜잭션 매니저가 락 전용 DataSource에 묶여 있으므로 호출자의 트랜잭션이나 afterCompletion 콜백과 섞이지 않는다
+        this.lockTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+    
+    private static DataSource createLockPool(DataSourceProperties dataSourceProperties, int poolSize) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("locksmith-lock");
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(1);
+        return pool;
+    }
+    
+    @PostConstruct
+    public void createLockTable() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!SUPPORTED_DATABASES.contains(database)) {
+            throw new IllegalStateException("DB 락 프로바이더가 지원하지 않는 DB입니다: " + database + " (지원: " + SUPPORTED_DATABASES + ")");
+        }
+        
+        jdbcTemplate.execute("""
+            CREATE TABLE IF NOT EXISTS distributed_lock (
+                lock_key VARCHAR(255) NOT NULL PRIMARY KEY,
+                owner VARCHAR(64) NOT NULL,
+                hold_count INT NOT NULL,
+                expires_at TIMESTAMP(6) NOT NULL
+            )""");
+    }
+    
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        if (dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return "jdbc";
+    }
+    
+    @Override
+    protected boolean tryLock(String lockKey, LockMode mode, long ownerId, long waitTime, long leaseTime, TimeUnit timeUnit)
+        throws InterruptedException {
+        String owner = ownerOf(ownerId);
+        long leaseMicros = TimeUnit.MILLISECONDS.toMicros(leaseTime < 0 ? DEFAULT_LEASE_MILLIS : timeUnit.toMillis(leaseTime));
+        // 대기 기한은 이 노드 안에서만 쓰이므로 로컬 시계로 충분하다
+        long deadline = System.currentTimeMillis() + timeUnit.toMillis(waitTime);
+        
+        while (true) {
+            if (tryAcquire(lockKey, owner, leaseMicros)) {
+                return true;
+            }
+            
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.debug("DB 락 대기 시간 초과: {}", lockKey);
+                return false;
+            }
+            Thread.sleep(Math.min(remaining, RETRY_INTERVAL_MILLIS));
+        }
+    }
+    
+    @Override
+    protected boolean isHeld(String lockKey, LockMode mode, long ownerId) {
+        Integer count = lockTransaction.execute(status -> jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM distributed_lock WHERE lock_key = ? AND owner = ? AND expires_at > LOCALTIMESTAMP(6)",
+            Integer.class, lockKey, ownerOf(ownerId)
+        ));
+        return count != null && count > 0;
+    }
+    
+    @Override
+    protected void unlock(String lockKey, LockMode mode, long ownerId) {
+        String owner = ownerOf(ownerId);
+        
+        lockTransaction.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update(
+                "UPDATE distributed_lock SET hold_count = hold_count - 1 WHERE lock_key = ? AND owner = ? AND expires_at > LOCALTIMESTAMP(6)",
+                lockKey, owner
+            );
+            if (updated == 0) {
+                throw new IllegalMonitorStateException("락을 보유하고 있지 않습니다: " + lockKey);
+            }
+            jdbcTemplate.update("DELETE FROM distributed_lock WHERE lock_key = ? AND owner = ? AND hold_count <= 0", lockKey, owner);
+        });
+    }
+    
+    @Override
+    protected long remainingLeaseMillis(String lockKey, LockMode mode) {
+        // 날짜 차이 함수는 DB마다 달라서 DB 시각과 만료 시각을 함께 읽어 자바에서 뺀다
+        Duration remaining = lockTransaction.execute(status -> jdbcTemplate.query(
+            "SELECT LOCALTIMESTAMP(6), expires_at FROM distributed_lock WHERE lock_key = ?",
+            rs -> rs.next() ? Duration.between(rs.getObject(1, LocalDateTime.class), rs.getObject(2, LocalDateTime.class)) : null,
+            lockKey
+        ));
+        return remaining == null ? 0 : Math.max(0, remaining.toMillis());
+    }
+    
+    private boolean tryAcquire(String lockKey, String owner, long leaseMicros) {
+        // 날짜 덧셈 함수도 DB마다 다르므로 DB 시각을 읽어 만료 시각은 자바에서 더한다
+        LocalDateTime now = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP(6)", LocalDateTime.class);
+        LocalDateTime expiresAt = now.plus(leaseMicros, ChronoUnit.MICROS);
+        
+        // 만료된 락을 넘겨받거나, 이미 보유한 락이면 재진입 횟수를 늘린다
+        Integer updated = lockTransaction.execute(status -> jdbcTemplate.update("""
+            UPDATE distributed_lock
+               SET hold_count = CASE WHEN owner = ? AND expires_at > ? THEN hold_count + 1 ELSE 1 END,
+                   owner = ?,
+                   expires_at = ?
+             WHERE lock_key = ? AND (owner = ? OR expires_at <= ?)""",
+            owner, now, owner, expiresAt, lockKey, owner, now
+        ));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        
+        try {
+            lockTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO distributed_lock (lock_key, owner, hold_count, expires_at) VALUES (?, ?, 1, ?)",
+                lockKey, owner, expiresAt
+            ));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    private String ownerOf(long ownerId) {
+        return nodeId + ":" + ownerId;
+    }
+}
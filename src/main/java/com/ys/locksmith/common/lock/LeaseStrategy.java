@@ -0,0 +1,16 @@
+package com.ys.locksmith.common.lock;
+
+public enum LeaseStrategy {
+    FIXED("호출자가 지정한 leaseTime 사용"),
+    ADAPTIVE("key prefix별 임계 구역 실행 시간으로 leaseTime 산정");
+    
+    private final String description;
+    
+    LeaseStrategy(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
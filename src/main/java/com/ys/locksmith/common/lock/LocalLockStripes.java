@@ -0,0 +1,37 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LocalLockStripes {
+    
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    
+    public LocalLockStripes(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripe 개수는 양수여야 합니다: " + stripeCount);
+        }
+        
+        // 인덱스 계산을 비트 마스크로 하기 위해 2의 거듭제곱으로 올림
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+    
+    public Lock get(String lockKey) {
+        return stripes[indexOf(lockKey)];
+    }
+    
+    public int size() {
+        return stripes.length;
+    }
+    
+    int indexOf(String lockKey) {
+        int hash = lockKey.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.Getter;
+
+// 다른 요청이 락을 쥐고 있어 대기 시간 안에 획득하지 못한 상황
+// retryAfterMillis는 현재 보유자의 남은 lease이며, 알 수 없으면 -1이다
+@Getter
+public class LockContendedException extends IllegalStateException {
+    
+    private final String lockKey;
+    private final long retryAfterMillis;
+    
+    public LockContendedException(String lockKey, long retryAfterMillis) {
+        super("락을 획득할 수 없습니다: " + lockKey);
+        this.lockKey = lockKey;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.TimeUnit;
+
+// 락으로 보호되는 코드가 남은 lease를 확인하고, lease가 끝나기 전에 블로킹 호출을 포기할 수 있게 한다
+public final class LockDeadline {
+    
+    private static final ThreadLocal<LockDeadline> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> SETTLED = new ThreadLocal<>();
+    
+    private final String lockKey;
+    private final long deadlineNanos;
+    
+    private LockDeadline(String lockKey, long deadlineNanos) {
+        this.lockKey = lockKey;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    // 중첩된 락이면 먼저 끝나는 lease가 기한이 된다
+    static Scope start(String lockKey, long deadlineNanos) {
+        LockDeadline previous = CURRENT.get();
+        if (previous == null || deadlineNanos - previous.deadlineNanos < 0) {
+            CURRENT.set(new LockDeadline(lockKey, deadlineNanos));
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+                SETTLED.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+    
+    // 락 밖에서 호출되면 기한이 없으므로 Long.MAX_VALUE를 반환한다
+    public static long remainingNanos() {
+        LockDeadline deadline = CURRENT.get();
+        return deadline != null ? deadline.deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+    
+    public static long remainingMillis() {
+        long remaining = remainingNanos();
+        return remaining == Long.MAX_VALUE ? remaining : TimeUnit.NANOSECONDS.toMillis(remaining);
+    }
+    
+    // 외부 결제처럼 되돌릴 수 없는 호출의 응답을 받은 직후에 부른다
+    // 이후로는 lease가 지나도 check()가 예외를 던지지 않으므로, 받은 결과가 롤백되지 않고 그대로 저장된다
+    public static void settle() {
+        if (CURRENT.get() != null) {
+            SETTLED.set(Boolean.TRUE);
+        }
+    }
+    
+    public static void check() {
+        LockDeadline deadline = CURRENT.get();
+        if (deadline != null && SETTLED.get() == null && System.nanoTime() - deadline.deadlineNanos >= 0) {
+            throw new LockLeaseExpiredException(deadline.lockKey);
+        }
+    }
+    
+    interface Scope extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+}
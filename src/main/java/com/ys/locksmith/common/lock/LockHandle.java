@@ -0,0 +1,23 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+// 스레드 기반 메서드는 호출 스레드를, 비동기 메서드는 호출자가 넘긴 ownerId를 락 소유자로 사용한다
+public interface LockHandle {
+    
+    boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException;
+    
+    boolean isHeldByCurrentThread();
+    
+    void unlock();
+    
+    CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId);
+    
+    CompletionStage<Void> unlockAsync(long ownerId);
+    
+    // 현재 보유자의 남은 lease(ms). 보유자가 없으면 0, 만료 없이 보유 중이거나 알 수 없으면 -1
+    default long remainingLeaseMillis() {
+        return -1;
+    }
+}
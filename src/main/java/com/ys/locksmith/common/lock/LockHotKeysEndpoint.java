@@ -0,0 +1,33 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// /actuator/lock-hotkeys 로 지금 대기가 몰리는 락 키를 조회한다 (경로는 application.yml의 path-mapping)
+@Component
+@Endpoint(id = "lockhotkeys")
+@RequiredArgsConstructor
+public class LockHotKeysEndpoint {
+    
+    private final LockMetrics lockMetrics;
+    
+    @ReadOperation
+    public HotKeysReport hotKeys() {
+        HotKeyTracker tracker = lockMetrics.hotKeys();
+        return new HotKeysReport(tracker.capacity(), tracker.dropped(), tracker.top(tracker.capacity()));
+    }
+    
+    // 장애 대응 후 집계를 비워 새로 관측한다
+    @DeleteOperation
+    public void reset() {
+        lockMetrics.hotKeys().reset();
+    }
+    
+    public record HotKeysReport(int capacity, long dropped, List<HotKeyTracker.HotKey> keys) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.ys.locksmith.common.lock;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.ConstructorReference;
+import org.springframework.expression.spel.ast.TypeReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// 메서드별로 한 번만 파싱/컴파일한 락 키 표현식과 파라미터 이름을 보관한다
+class LockKeyResolver {
+    
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, LockKeyResolver.class.getClassLoader())
+    );
+    
+    private final Expression expression;
+    private final String[] parameterNames;
+    private final boolean needsStandardContext;
+    
+    LockKeyResolver(String keyExpression, String[] parameterNames) {
+        this.expression = PARSER.parseExpression(keyExpression);
+        this.parameterNames = parameterNames;
+        this.needsStandardContext = needsStandardContext(((SpelExpression) expression).getAST());
+    }
+    
+    String resolve(Object[] args) {
+        return expression.getValue(createContext(args), String.class);
+    }
+    
+    // 컬렉션이나 배열로 평가되면 원소마다 하나의 락 키로 펼친다
+    List<String> resolveAll(Object[] args) {
+        Object value = expression.getValue(createContext(args));
+        
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).toList();
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.stream(array).map(String::valueOf).toList();
+        }
+        return List.of(String.valueOf(value));
+    }
+    
+    // SimpleEvaluationContext는 T(...), 생성자 호출, @빈 참조를 평가하지 못하므로 이런 표현식은 예전처럼 StandardEvaluationContext로 평가한다
+    private static boolean needsStandardContext(SpelNode node) {
+        if (node instanceof TypeReference || node instanceof ConstructorReference || node instanceof BeanReference) {
+            return true;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (needsStandardContext(node.getChild(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private EvaluationContext createContext(Object[] args) {
+        EvaluationContext context = needsStandardContext
+            ? new StandardEvaluationContext()
+            : SimpleEvaluationContext.forReadOnlyDataBinding().withInstanceMethods().build();
+        for (int i = 0; i < parameterNames.length; i++) {
+            context.setVariable(parameterNames[i], args[i]);
+        }
+        return context;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.Getter;
+
+// 임계 구역이 lease를 넘겨 실행되어 다른 노드가 같은 락을 잡았을 수 있는 상황
+@Getter
+public class LockLeaseExpiredException extends RuntimeException {
+    
+    private final String lockKey;
+    
+    public LockLeaseExpiredException(String lockKey) {
+        super("락 lease가 만료되어 작업을 중단합니다: " + lockKey);
+        this.lockKey = lockKey;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// 락/permit 대기 시간, 보유 시간, 실패 횟수를 key prefix와 호출 방식(strategy)별로 기록한다
+@Component
+@RequiredArgsConstructor
+public class LockMetrics {
+    
+    public static final String DEFAULT_STRATEGY = "manual";
+    
+    private static final int HOT_KEY_CAPACITY = 64;
+    private static final ThreadLocal<String> STRATEGY = new ThreadLocal<>();
+    
+    private final MeterRegistry meterRegistry;
+    private final HotKeyTracker hotKeys = new HotKeyTracker(HOT_KEY_CAPACITY);
+    
+    // 이 범위 안에서 획득하는 락은 strategy 태그로 기록된다
+    public static StrategyScope withStrategy(String strategy) {
+        String previous = STRATEGY.get();
+        STRATEGY.set(strategy);
+        return () -> {
+            if (previous == null) {
+                STRATEGY.remove();
+            } else {
+                STRATEGY.set(previous);
+            }
+        };
+    }
+    
+    public static String currentStrategy() {
+        String strategy = STRATEGY.get();
+        return strategy != null ? strategy : DEFAULT_STRATEGY;
+    }
+    
+    // payment:order:ORDER-001 -> payment:order
+    public static String keyPrefix(String lockKey) {
+        int last = lockKey.lastIndexOf(':');
+        return last > 0 ? lockKey.substring(0, last) : lockKey;
+    }
+    
+    public void recordAcquired(String lockKey, String keyPrefix, String strategy, long waitNanos) {
+        recordWait(lockKey, keyPrefix, strategy, "acquired", waitNanos);
+    }
+    
+    public void recordTimeout(String lockKey, String keyPrefix, String strategy, long waitNanos) {
+        recordWait(lockKey, keyPrefix, strategy, "timeout", waitNanos);
+        failureCounter(keyPrefix, strategy, "timeout").increment();
+    }
+    
+    public void recordInterrupted(String lockKey, String keyPrefix, String strategy, long waitNanos) {
+        recordWait(lockKey, keyPrefix, strategy, "interrupted", waitNanos);
+        failureCounter(keyPrefix, strategy, "interrupted").increment();
+    }
+    
+    public void recordLeaseExpired(String keyPrefix, String strategy) {
+        failureCounter(keyPrefix, strategy, "lease_expired").increment();
+    }
+    
+    public void recordHold(String keyPrefix, String strategy, long holdNanos) {
+        Timer.builder("locksmith.lock.hold")
+            .description("락을 획득한 뒤 해제할 때까지의 시간")
+            .tag("prefix", keyPrefix)
+            .tag("strategy", strategy)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordPermitWait(String permitKey, boolean acquired, long waitNanos) {
+        Timer.builder("locksmith.permit.wait")
+            .description("permit 획득까지 대기한 시간")
+            .tag("key", permitKey)
+            .tag("outcome", acquired ? "acquired" : "timeout")
+            .register(meterRegistry)
+            .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    // 대기가 몰리는 개별 키는 태그로 남기면 카디널리티가 폭발하므로 heavy-hitters 구조에만 기록한다
+    public HotKeyTracker hotKeys() {
+        return hotKeys;
+    }
+    
+    private void recordWait(String lockKey, String keyPrefix, String strategy, String outcome, long waitNanos) {
+        waitTimer(keyPrefix, strategy, outcome).record(waitNanos, TimeUnit.NANOSECONDS);
+        hotKeys.record(lockKey, waitNanos);
+    }
+    
+    private Timer waitTimer(String keyPrefix, String strategy, String outcome) {
+        return Timer.builder("locksmith.lock.wait")
+            .description("락 획득을 시도해서 결과가 나올 때까지 대기한 시간")
+            .tag("prefix", keyPrefix)
+            .tag("strategy", strategy)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+    
+    private Counter failureCounter(String keyPrefix, String strategy, String reason) {
+        return Counter.builder("locksmith.lock.failures")
+            .description("락 획득 실패 횟수")
+            .tag("prefix", keyPrefix)
+            .tag("strategy", strategy)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+    
+    public interface StrategyScope extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ys.locksmith.common.lock;
+
+public enum LockMode {
+    EXCLUSIVE("단독 락"),
+    READ("읽기 락"),
+    WRITE("쓰기 락");
+    
+    private final String description;
+    
+    LockMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
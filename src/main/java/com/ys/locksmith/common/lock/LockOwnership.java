@@ -0,0 +1,16 @@
+package com.ys.locksmith.common.lock;
+
+public enum LockOwnership {
+    THREAD("스레드 ID 기반 소유"),
+    TOKEN("호출마다 발급한 토큰 기반 소유");
+    
+    private final String description;
+    
+    LockOwnership(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
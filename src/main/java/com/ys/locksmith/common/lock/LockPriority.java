@@ -0,0 +1,18 @@
+package com.ys.locksmith.common.lock;
+
+// 선언 순서가 곧 대기열 순서다. 같은 우선순위 안에서는 먼저 온 요청이 앞에 선다
+public enum LockPriority {
+    HIGH("취소/환불처럼 밀려서는 안 되는 요청"),
+    NORMAL("일반 요청"),
+    LOW("지연되어도 되는 배치성 요청");
+    
+    private final String description;
+    
+    LockPriority(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
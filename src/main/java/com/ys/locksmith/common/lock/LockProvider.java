@@ -0,0 +1,31 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.List;
+
+// 분산락 구현체(Redis, 인메모리, DB)를 교체할 수 있도록 DistributedLockUtil이 의존하는 SPI
+public interface LockProvider {
+    
+    LockHandle getLock(String lockKey);
+    
+    // 읽기/쓰기 락은 같은 키의 단독 락(getLock)과 섞어 쓰지 않는다
+    LockHandle getReadLock(String lockKey);
+    
+    LockHandle getWriteLock(String lockKey);
+    
+    // 대기자가 요청 순서대로 락을 얻는다. 공정 락을 따로 지원하지 않는 구현체는 일반 락을 돌려준다
+    default LockHandle getFairLock(String lockKey) {
+        return getLock(lockKey);
+    }
+    
+    // 대기자가 우선순위, 같으면 요청 순서대로 락을 얻는다. 우선순위 대기열을 지원하지 않는 구현체는 일반 락을 돌려준다
+    default LockHandle getPriorityLock(String lockKey, LockPriority priority) {
+        return getLock(lockKey);
+    }
+    
+    // lockKeys는 호출자가 정렬해서 넘긴다. 기본 구현은 키마다 순서대로 락을 잡는다
+    default LockHandle getMultiLock(List<String> lockKeys) {
+        return new OrderedMultiLockHandle(lockKeys.stream().map(this::getLock).toList());
+    }
+    
+    String getName();
+}
@@ -0,0 +1,13 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.CompletionStage;
+
+// 우선순위 락의 대기열. 우선순위가 높을수록, 같으면 먼저 들어온 대기자가 앞에 선다
+// 한동안 위치를 확인하지 않은 대기자는 떠난 것으로 보고 선두에서 치운다
+interface LockWaitQueue {
+    
+    // 대기열에 없으면 줄을 세우고, 있으면 생존 시각만 갱신한 뒤 선두인지 돌려준다
+    CompletionStage<Boolean> enter(String waiterId, LockPriority priority);
+    
+    CompletionStage<Void> leave(String waiterId);
+}
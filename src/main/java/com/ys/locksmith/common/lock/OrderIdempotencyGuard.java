@@ -0,0 +1,180 @@
+package com.ys.locksmith.common.lock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+// 주문 락 획득, 중복 주문 확인, 주문 ID 예약을 저장소 왕복 한 번으로 끝낸다
+// 락 대기 후 DB에서 중복을 조회하던 흐름을 대신하며, 예약이 사라진 뒤의 중복은 DB unique 제약이 막는다
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderIdempotencyGuard {
+    
+    private static final String KEY_PREFIX = "payment:order";
+    
+    private final OrderReservationStore reservationStore;
+    private final TransactionTemplate transactionTemplate;
+    private final LockMetrics lockMetrics;
+    private final AdaptiveLease adaptiveLease = new AdaptiveLease(
+        DistributedLockUtil.ADAPTIVE_LEASE_PERCENTILE, DistributedLockUtil.ADAPTIVE_LEASE_SAFETY_FACTOR, DistributedLockUtil.ADAPTIVE_LEASE_MIN_MILLIS
+    );
+    
+    // 주문 처리에 허용하는 최대 시간. FIXED면 그대로 lease가 되고, ADAPTIVE면 짧게 잡은 lease를 갱신할 수 있는 상한이 된다
+    @Value("${locksmith.idempotency.lease:30s}")
+    private Duration lease = Duration.ofSeconds(30);
+    
+    // 분산락과 같은 설정을 따라, ADAPTIVE면 최근 처리 시간으로 lease를 정하고 처리 중에는 갱신한다
+    @Value("${locksmith.lock.lease:FIXED}")
+    private LeaseStrategy leaseStrategy = LeaseStrategy.FIXED;
+    
+    // 처리가 끝난 주문 ID를 기억하는 기간. 이 기간이 지난 중복 요청은 DB unique 제약에서 걸러진다
+    @Value("${locksmith.idempotency.retention:24h}")
+    private Duration retention = Duration.ofHours(24);
+    
+    // 처리된 주문이면 DuplicateOrderException, 처리 중이면 기다리지 않고 LockContendedException을 던진다
+    public <T> T executeOnce(String orderId, Supplier<T> supplier) {
+        Reservation reservation = reserve(orderId);
+        boolean succeeded = false;
+        try {
+            T result = runWithinLease(reservation, supplier);
+            succeeded = true;
+            return result;
+        } finally {
+            settleAfterTransaction(reservation, succeeded);
+        }
+    }
+    
+    // 예약을 먼저 한 뒤 트랜잭션을 시작하므로 중복 요청은 JDBC 커넥션을 잡지 않는다
+    public <T> T executeOnceInTransaction(String orderId, Supplier<T> supplier) {
+        return executeOnce(orderId, () -> transactionTemplate.execute(status -> supplier.get()));
+    }
+    
+    // executeOnce와 같은 예약을 쓰므로 동기/비동기 요청이 같은 주문을 서로 막는다
+    // 작업은 다른 스레드에서 끝나므로 future가 완료된 뒤에 예약을 확정하거나 지운다
+    public <T> CompletableFuture<T> executeOnceAsync(String orderId, Supplier<CompletionStage<T>> supplier) {
+        Reservation reservation;
+        try {
+            reservation = reserve(orderId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        CompletionStage<T> work;
+        try {
+            work = supplier.get();
+        } catch (RuntimeException e) {
+            settle(reservation, false);
+            return CompletableFuture.failedFuture(e);
+        }
+        return work.toCompletableFuture().whenComplete((result, error) -> settle(reservation, error == null));
+    }
+    
+    private Reservation reserve(String orderId) {
+        RequestDeadline.check();
+        String lockKey = KEY_PREFIX + ":" + orderId;
+        String strategy = LockMetrics.currentStrategy();
+        String token = UUID.randomUUID().toString();
+        boolean adaptive = leaseStrategy == LeaseStrategy.ADAPTIVE;
+        long leaseMillis = adaptive ? adaptiveLease.leaseMillis(KEY_PREFIX, lease.toMillis()) : lease.toMillis();
+        long startedAt = System.nanoTime();
+        
+        long reserved = reservationStore.reserve(orderId, token, leaseMillis);
+        long acquiredAt = System.nanoTime();
+        
+        if (reserved == OrderReservationStore.COMPLETED) {
+            log.warn("이미 처리된 주문입니다: orderId={}", orderId);
+            throw new DuplicateOrderException(orderId);
+        }
+        if (reserved != OrderReservationStore.RESERVED) {
+            lockMetrics.recordTimeout(lockKey, KEY_PREFIX, strategy, acquiredAt - startedAt);
+            log.warn("처리 중인 주문입니다: orderId={}", orderId);
+            throw new LockContendedException(lockKey, reserved);
+        }
+        lockMetrics.recordAcquired(lockKey, KEY_PREFIX, strategy, acquiredAt - startedAt);
+        log.debug("주문 예약 성공: orderId={}", orderId);
+        
+        // 커밋 여부가 확정될 때까지 예약을 지켜야 하므로 갱신은 settle에서 멈춘다
+        ScheduledFuture<?> renewal = adaptive
+            ? adaptiveLease.keepAlive(lockKey, leaseMillis, () -> reservationStore.renew(orderId, token, leaseMillis))
+            : null;
+        return new Reservation(orderId, lockKey, token, strategy, acquiredAt, renewal);
+    }
+    
+    private <T> T runWithinLease(Reservation reservation, Supplier<T> supplier) {
+        RequestDeadline.check();
+        String lockKey = reservation.lockKey();
+        // DistributedLockUtil과 같이 lease 상한의 10%를 여유로 남긴다. 갱신 중이어도 상한을 넘겨 실행하지 않는다
+        long leaseNanos = lease.toNanos();
+        try (LockDeadline.Scope ignored = LockDeadline.start(lockKey, reservation.acquiredAt() + leaseNanos - leaseNanos / 10)) {
+            T result = supplier.get();
+            LockDeadline.check();
+            return result;
+        } catch (LockLeaseExpiredException e) {
+            if (lockKey.equals(e.getLockKey())) {
+                lockMetrics.recordLeaseExpired(KEY_PREFIX, reservation.strategy());
+                log.error("주문 처리가 lease를 넘겨 실행되었습니다: {}", lockKey);
+            }
+            throw e;
+        }
+    }
+    
+    // 바깥 트랜잭션이 있으면 커밋 여부가 확정된 뒤에 예약을 남길지 지울지 정한다
+    private void settleAfterTransaction(Reservation reservation, boolean succeeded) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settle(reservation, succeeded);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle(reservation, succeeded && status == STATUS_COMMITTED);
+            }
+        });
+    }
+    
+    private void settle(Reservation reservation, boolean committed) {
+        String orderId = reservation.orderId();
+        if (reservation.renewal() != null) {
+            reservation.renewal().cancel(false);
+        }
+        try {
+            if (!committed) {
+                reservationStore.release(orderId, reservation.token());
+                log.debug("주문 예약 취소: orderId={}", orderId);
+            } else if (!reservationStore.complete(orderId, reservation.token(), retention.toMillis())) {
+                log.warn("lease가 끝난 뒤 주문 처리가 완료되었습니다: orderId={}", orderId);
+            } else {
+                log.debug("주문 예약 확정: orderId={}", orderId);
+            }
+        } finally {
+            long holdNanos = System.nanoTime() - reservation.acquiredAt();
+            lockMetrics.recordHold(KEY_PREFIX, reservation.strategy(), holdNanos);
+            if (leaseStrategy == LeaseStrategy.ADAPTIVE) {
+                adaptiveLease.record(KEY_PREFIX, holdNanos);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        adaptiveLease.shutdown();
+    }
+    
+    private record Reservation(String orderId, String lockKey, String token, String strategy, long acquiredAt,
+                               ScheduledFuture<?> renewal) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.ys.locksmith.common.lock;
+
+// 주문 락과 주문 ID 예약을 함께 보관한다. OrderIdempotencyGuard가 의존하는 SPI
+public interface OrderReservationStore {
+    
+    long RESERVED = 0;
+    long COMPLETED = -1;
+    
+    // 처리된 주문이면 COMPLETED, 다른 요청이 처리 중이면 그 락의 남은 lease(ms, 양수)를 돌려준다
+    // 둘 다 아니면 락을 잡고 주문 ID를 예약한 뒤 RESERVED를 돌려준다. 예약도 lease가 지나면 사라진다
+    long reserve(String orderId, String token, long leaseMillis);
+    
+    // 아직 락을 보유하고 있으면 락과 예약의 만료를 지금부터 leaseMillis 뒤로 늦춘다. 이미 잃었으면 false를 돌려준다
+    boolean renew(String orderId, String token, long leaseMillis);
+    
+    // 락을 풀고 예약을 retentionMillis 동안 남긴다. lease가 이미 끝나 락을 잃었으면 false를 돌려준다
+    boolean complete(String orderId, String token, long retentionMillis);
+    
+    // 결제가 남지 않았으므로 락과 예약을 모두 지워 재시도를 허용한다
+    void release(String orderId, String token);
+}
@@ -0,0 +1,140 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+// 주어진 순서대로 락을 하나씩 잡고, 하나라도 실패하면 이미 잡은 락을 역순으로 풀어준다
+class OrderedMultiLockHandle implements LockHandle {
+    
+    private final List<LockHandle> locks;
+    
+    OrderedMultiLockHandle(List<LockHandle> locks) {
+        this.locks = List.copyOf(locks);
+    }
+    
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        long leaseNanos = leaseTime < 0 ? leaseTime : timeUnit.toNanos(leaseTime);
+        int acquired = 0;
+        
+        try {
+            for (LockHandle lock : locks) {
+                if (!lock.tryLock(remainingNanos(deadline), leaseNanos, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                acquired++;
+            }
+        } finally {
+            if (acquired < locks.size()) {
+                releaseQuietly(acquired);
+            }
+        }
+        
+        return acquired == locks.size();
+    }
+    
+    // 일부 lease가 만료되었더라도 남은 락은 풀어야 하므로 하나라도 보유 중이면 true다
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return locks.stream().anyMatch(LockHandle::isHeldByCurrentThread);
+    }
+    
+    @Override
+    public void unlock() {
+        unlockHeld(locks);
+    }
+    
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        long leaseNanos = leaseTime < 0 ? leaseTime : timeUnit.toNanos(leaseTime);
+        
+        return tryLockFrom(0, deadline, leaseNanos, ownerId);
+    }
+    
+    @Override
+    public CompletionStage<Void> unlockAsync(long ownerId) {
+        return unlockFirstAsync(locks.size(), ownerId);
+    }
+    
+    @Override
+    public long remainingLeaseMillis() {
+        long remaining = 0;
+        for (LockHandle lock : locks) {
+            long lease = lock.remainingLeaseMillis();
+            if (lease < 0) {
+                return lease;
+            }
+            remaining = Math.max(remaining, lease);
+        }
+        return remaining;
+    }
+    
+    private CompletionStage<Boolean> tryLockFrom(int index, long deadline, long leaseNanos, long ownerId) {
+        if (index == locks.size()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        
+        return locks.get(index).tryLockAsync(remainingNanos(deadline), leaseNanos, TimeUnit.NANOSECONDS, ownerId)
+            .handle((locked, error) -> {
+                if (error != null) {
+                    return unlockFirstAsync(index, ownerId).<Boolean>thenApply(ignored -> {
+                        throw error instanceof CompletionException completionException
+                            ? completionException
+                            : new CompletionException(error);
+                    });
+                }
+                if (!locked) {
+                    return unlockFirstAsync(index, ownerId).thenApply(ignored -> false);
+                }
+                return tryLockFrom(index + 1, deadline, leaseNanos, ownerId);
+            })
+            .thenCompose(stage -> stage);
+    }
+    
+    // 아직 보유 중인 락만 역순으로 푼다. 하나가 실패해도 나머지는 계속 풀고, 실패는 모아서 마지막에 던진다
+    static void unlockHeld(List<? extends LockHandle> locks) {
+        RuntimeException failure = null;
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            LockHandle lock = locks.get(i);
+            try {
+                if (lock.isHeldByCurrentThread()) {
+                    lock.unlock();
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void releaseQuietly(int count) {
+        try {
+            unlockHeld(locks.subList(0, count));
+        } catch (RuntimeException e) {
+            // 획득 실패 후 정리 단계이므로 호출자에게는 획득 실패만 알린다
+        }
+    }
+    
+    private CompletionStage<Void> unlockFirstAsync(int count, long ownerId) {
+        CompletableFuture<?>[] unlocks = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            unlocks[i] = locks.get(count - 1 - i).unlockAsync(ownerId).toCompletableFuture();
+        }
+        return CompletableFuture.allOf(unlocks);
+    }
+    
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,11 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.TimeUnit;
+
+public interface PermitProvider {
+    
+    // 획득한 permit의 ID를 돌려주고, 대기 시간 안에 얻지 못하면 null을 돌려준다
+    String tryAcquire(String permitKey, int permits, long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException;
+    
+    void release(String permitKey, String permitId);
+}
@@ -0,0 +1,125 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 대기열의 선두만 락을 시도하고, 나머지 대기자는 자기 차례인지만 확인한다
+// 선두는 락 해제를 짧은 간격으로 확인하고, 뒤쪽 대기자는 긴 간격으로 위치만 갱신해 락 서버 부하를 줄인다
+@Slf4j
+class PriorityLockHandle implements LockHandle {
+    
+    private static final long HEAD_POLL_MILLIS = 5;
+    private static final long WAITER_POLL_MILLIS = 50;
+    
+    private final LockHandle delegate;
+    private final LockWaitQueue queue;
+    private final LockPriority priority;
+    
+    PriorityLockHandle(LockHandle delegate, LockWaitQueue queue, LockPriority priority) {
+        this.delegate = delegate;
+        this.queue = queue;
+        this.priority = priority;
+    }
+    
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+        String waiterId = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        
+        try {
+            while (true) {
+                boolean head = queue.enter(waiterId, priority).toCompletableFuture().join();
+                if (head && delegate.tryLock(0, leaseTime, timeUnit)) {
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(pollNanos(head), remaining));
+            }
+        } finally {
+            leaveQuietly(waiterId);
+        }
+    }
+    
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return delegate.isHeldByCurrentThread();
+    }
+    
+    @Override
+    public void unlock() {
+        delegate.unlock();
+    }
+    
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+        String waiterId = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        
+        return tryLockAsync(waiterId, deadline, leaseTime, timeUnit, ownerId)
+            .handle((locked, error) -> queue.leave(waiterId).handle((left, leaveError) -> {
+                if (leaveError != null) {
+                    log.warn("우선순위 대기열에서 나가지 못했습니다: {}", waiterId, leaveError);
+                }
+                if (error != null) {
+                    throw error instanceof CompletionException completionException
+                        ? completionException
+                        : new CompletionException(error);
+                }
+                return locked;
+            }))
+            .thenCompose(Function.identity());
+    }
+    
+    @Override
+    public CompletionStage<Void> unlockAsync(long ownerId) {
+        return delegate.unlockAsync(ownerId);
+    }
+    
+    @Override
+    public long remainingLeaseMillis() {
+        return delegate.remainingLeaseMillis();
+    }
+    
+    private CompletionStage<Boolean> tryLockAsync(String waiterId, long deadline, long leaseTime, TimeUnit timeUnit, long ownerId) {
+        return queue.enter(waiterId, priority)
+            .thenCompose(head -> (head
+                ? delegate.tryLockAsync(0, leaseTime, timeUnit, ownerId)
+                : CompletableFuture.completedFuture(false))
+                .thenCompose(locked -> {
+                    long remaining = deadline - System.nanoTime();
+                    if (locked || remaining <= 0) {
+                        return CompletableFuture.completedFuture(locked);
+                    }
+                    
+                    Executor delayed = CompletableFuture.delayedExecutor(Math.min(pollNanos(head), remaining), TimeUnit.NANOSECONDS);
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                        .thenCompose(ignored -> tryLockAsync(waiterId, deadline, leaseTime, timeUnit, ownerId));
+                }));
+    }
+    
+    // 락을 얻었거나 포기한 뒤에는 대기열에서 빠진다. 실패해도 생존 시각이 끊기므로 다른 대기자가 곧 치운다
+    private void leaveQuietly(String waiterId) {
+        try {
+            queue.leave(waiterId).toCompletableFuture().join();
+        } catch (RuntimeException e) {
+            log.warn("우선순위 대기열에서 나가지 못했습니다: {}", waiterId, e);
+        }
+    }
+    
+    // 여러 대기자가 같은 주기로 몰리지 않도록 간격의 절반 범위에서 흔든다
+    private static long pollNanos(boolean head) {
+        long interval = TimeUnit.MILLISECONDS.toNanos(head ? HEAD_POLL_MILLIS : WAITER_POLL_MILLIS);
+        return ThreadLocalRandom.current().nextLong(interval / 2, interval + 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ys.locksmith.common.lock;
+
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+// 대기 순서는 sorted set(우선순위 구간 + Redis 서버 시각), 생존 시각은 별도 sorted set에 둔다
+// 두 키는 같은 hash tag를 써서 클러스터에서도 한 슬롯에 놓인다
+class RedisLockWaitQueue implements LockWaitQueue {
+    
+    // 위치 확인 주기(최대 50ms)보다 충분히 길게 잡아 느린 대기자를 떠난 것으로 오인하지 않는다
+    private static final long STALE_WAITER_MILLIS = 5_000;
+    
+    // 우선순위마다 1e13ms 구간을 나눠 높은 우선순위가 항상 앞에 온다 (double로 정확히 표현되는 범위 안)
+    private static final String ENTER_SCRIPT = """
+        local time = redis.call('time')
+        local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+        redis.call('zadd', KEYS[1], 'NX', tonumber(ARGV[2]) * 1e13 + now, ARGV[1])
+        redis.call('zadd', KEYS[2], now, ARGV[1])
+        redis.call('pexpire', KEYS[1], ARGV[3])
+        redis.call('pexpire', KEYS[2], ARGV[3])
+        while true do
+            local head = redis.call('zrange', KEYS[1], 0, 0)[1]
+            if head == ARGV[1] then
+                return 1
+            end
+            local seen = redis.call('zscore', KEYS[2], head)
+            if seen and tonumber(seen) > now - tonumber(ARGV[3]) then
+                return 0
+            end
+            redis.call('zrem', KEYS[1], head)
+            redis.call('zrem', KEYS[2], head)
+        end
+        """;
+    
+    private static final String LEAVE_SCRIPT = """
+        redis.call('zrem', KEYS[1], ARGV[1])
+        return redis.call('zrem', KEYS[2], ARGV[1])
+        """;
+    
+    private final RScript script;
+    private final List<Object> keys;
+    
+    RedisLockWaitQueue(RedissonClient redissonClient, String lockKey) {
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+        this.keys = List.of("locksmith_lock_queue:{" + lockKey + "}", "locksmith_lock_queue_seen:{" + lockKey + "}");
+    }
+    
+    @Override
+    public CompletionStage<Boolean> enter(String waiterId, LockPriority priority) {
+        return script.evalAsync(
+            RScript.Mode.READ_WRITE, ENTER_SCRIPT, RScript.ReturnType.BOOLEAN, keys,
+            waiterId, String.valueOf(priority.ordinal()), String.valueOf(STALE_WAITER_MILLIS)
+        );
+    }
+    
+    @Override
+    public CompletionStage<Void> leave(String waiterId) {
+        return script.<Long>evalAsync(RScript.Mode.READ_WRITE, LEAVE_SCRIPT, RScript.ReturnType.INTEGER, keys, waiterId)
+            .thenAccept(removed -> { });
+    }
+}
@@ -0,0 +1,101 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 락 획득, 처리 여부 확인, 주문 ID 예약을 Lua 스크립트 한 번(왕복 1회)으로 처리한다
+// 두 키는 같은 hash tag를 써서 클러스터에서도 한 슬롯에 놓인다
+@Component
+@ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisOrderReservationStore implements OrderReservationStore {
+    
+    // 예약 키가 있는데 락이 없으면 처리가 끝난 주문이다. 락과 예약은 항상 함께 만들어진다
+    private static final String RESERVE_SCRIPT = """
+        if redis.call('exists', KEYS[2]) == 1 then
+            local ttl = redis.call('pttl', KEYS[1])
+            if ttl > 0 then
+                return ttl
+            end
+            return -1
+        end
+        redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2])
+        redis.call('set', KEYS[2], ARGV[1], 'PX', ARGV[2])
+        return 0
+        """;
+    
+    private static final String RENEW_SCRIPT = """
+        if redis.call('get', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        redis.call('pexpire', KEYS[1], ARGV[2])
+        redis.call('pexpire', KEYS[2], ARGV[2])
+        return 1
+        """;
+    
+    private static final String COMPLETE_SCRIPT = """
+        if redis.call('get', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        redis.call('del', KEYS[1])
+        redis.call('set', KEYS[2], ARGV[1], 'PX', ARGV[2])
+        return 1
+        """;
+    
+    private static final String RELEASE_SCRIPT = """
+        if redis.call('get', KEYS[1]) ~= ARGV[1] then
+            return 0
+        end
+        return redis.call('del', KEYS[1], KEYS[2])
+        """;
+    
+    private final RScript script;
+    
+    public RedisOrderReservationStore(RedissonClient redissonClient) {
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+    }
+    
+    @Override
+    public long reserve(String orderId, String token, long leaseMillis) {
+        return script.<Long>eval(
+            RScript.Mode.READ_WRITE, RESERVE_SCRIPT, RScript.ReturnType.INTEGER, keysOf(orderId),
+            token, String.valueOf(leaseMillis)
+        );
+    }
+    
+    @Override
+    public boolean renew(String orderId, String token, long leaseMillis) {
+        Long renewed = script.eval(
+            RScript.Mode.READ_WRITE, RENEW_SCRIPT, RScript.ReturnType.INTEGER, keysOf(orderId),
+            token, String.valueOf(leaseMillis)
+        );
+        return renewed == 1;
+    }
+    
+    @Override
+    public boolean complete(String orderId, String token, long retentionMillis) {
+        Long completed = script.eval(
+            RScript.Mode.READ_WRITE, COMPLETE_SCRIPT, RScript.ReturnType.INTEGER, keysOf(orderId),
+            token, String.valueOf(retentionMillis)
+        );
+        return completed == 1;
+    }
+    
+    @Override
+    public void release(String orderId, String token) {
+        Long released = script.eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.INTEGER, keysOf(orderId), token);
+        if (released == 0) {
+            log.warn("이미 만료된 주문 예약입니다: orderId={}", orderId);
+        }
+    }
+    
+    private static List<Object> keysOf(String orderId) {
+        return List.of("locksmith_order_lock:{" + orderId + "}", "locksmith_order_reserved:{" + orderId + "}");
+    }
+}
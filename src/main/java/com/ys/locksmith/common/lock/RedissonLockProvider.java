@@ -0,0 +1,142 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedissonLockProvider implements LockProvider {
+    
+    private final RedissonClient redissonClient;
+    
+    @Override
+    public LockHandle getLock(String lockKey) {
+        return new RedissonLockHandle(redissonClient.getLock(lockKey));
+    }
+    
+    @Override
+    public LockHandle getReadLock(String lockKey) {
+        return new RedissonLockHandle(redissonClient.getReadWriteLock(lockKey).readLock());
+    }
+    
+    @Override
+    public LockHandle getWriteLock(String lockKey) {
+        return new RedissonLockHandle(redissonClient.getReadWriteLock(lockKey).writeLock());
+    }
+    
+    // 해제 시 대기열의 첫 번째 대기자에게만 알림을 보내므로 대기자가 한꺼번에 깨어나지 않는다
+    @Override
+    public LockHandle getFairLock(String lockKey) {
+        return new RedissonLockHandle(redissonClient.getFairLock(lockKey));
+    }
+    
+    // 대기 순서는 Redis sorted set에 두고, 선두 대기자만 일반 락을 시도한다
+    @Override
+    public LockHandle getPriorityLock(String lockKey, LockPriority priority) {
+        return new PriorityLockHandle(getLock(lockKey), new RedisLockWaitQueue(redissonClient, lockKey), priority);
+    }
+    
+    // RedissonMultiLock은 isHeldByCurrentThread를 지원하지 않으므로 개별 락으로 보유 여부를 확인한다
+    @Override
+    public LockHandle getMultiLock(List<String> lockKeys) {
+        RLock[] locks = lockKeys.stream().map(redissonClient::getLock).toArray(RLock[]::new);
+        List<LockHandle> handles = Arrays.stream(locks).<LockHandle>map(RedissonLockHandle::new).toList();
+        return new RedissonMultiLockHandle(redissonClient.getMultiLock(locks), handles);
+    }
+    
+    @Override
+    public String getName() {
+        return "redis";
+    }
+    
+    private record RedissonLockHandle(RLock lock) implements LockHandle {
+        
+        @Override
+        public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+            return lock.tryLock(waitTime, leaseTime, timeUnit);
+        }
+        
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return lock.isHeldByCurrentThread();
+        }
+        
+        @Override
+        public void unlock() {
+            lock.unlock();
+        }
+        
+        @Override
+        public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+            return lock.tryLockAsync(waitTime, leaseTime, timeUnit, ownerId);
+        }
+        
+        @Override
+        public CompletionStage<Void> unlockAsync(long ownerId) {
+            return lock.unlockAsync(ownerId);
+        }
+        
+        @Override
+        public long remainingLeaseMillis() {
+            return RedissonLockProvider.remainingLeaseMillis(lock);
+        }
+    }
+    
+    private record RedissonMultiLockHandle(RLock multiLock, List<LockHandle> locks) implements LockHandle {
+        
+        @Override
+        public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+            return multiLock.tryLock(waitTime, leaseTime, timeUnit);
+        }
+        
+        // 일부 lease가 만료되었더라도 남은 락은 풀어야 하므로 하나라도 보유 중이면 true다
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return locks.stream().anyMatch(LockHandle::isHeldByCurrentThread);
+        }
+        
+        // RedissonMultiLock.unlock은 만료된 락 하나에서 실패하므로 보유 중인 락만 하나씩 푼다
+        @Override
+        public void unlock() {
+            OrderedMultiLockHandle.unlockHeld(locks);
+        }
+        
+        @Override
+        public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+            return multiLock.tryLockAsync(waitTime, leaseTime, timeUnit, ownerId);
+        }
+        
+        @Override
+        public CompletionStage<Void> unlockAsync(long ownerId) {
+            return multiLock.unlockAsync(ownerId);
+        }
+        
+        @Override
+        public long remainingLeaseMillis() {
+            long remaining = 0;
+            for (LockHandle lock : locks) {
+                long lease = lock.remainingLeaseMillis();
+                if (lease < 0) {
+                    return lease;
+                }
+                remaining = Math.max(remaining, lease);
+            }
+            return remaining;
+        }
+    }
+    
+    // remainTimeToLive는 키가 없으면 -2, 만료가 없으면 -1을 돌려준다
+    private static long remainingLeaseMillis(RLock lock) {
+        long ttl = lock.remainTimeToLive();
+        return ttl == -2 ? 0 : ttl;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RPermitExpirableSemaphore;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "locksmith.lock.provider", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RedissonPermitProvider implements PermitProvider {
+    
+    private final RedissonClient redissonClient;
+    private final Set<String> initializedKeys = ConcurrentHashMap.newKeySet();
+    
+    @Override
+    public String tryAcquire(String permitKey, int permits, long waitTime, long leaseTime, TimeUnit timeUnit)
+        throws InterruptedException {
+        RPermitExpirableSemaphore semaphore = redissonClient.getPermitExpirableSemaphore(permitKey);
+        
+        // 이미 다른 노드가 설정했다면 기존 permit 수를 그대로 사용한다
+        if (initializedKeys.add(permitKey)) {
+            semaphore.trySetPermits(permits);
+        }
+        
+        return semaphore.tryAcquire(waitTime, leaseTime, timeUnit);
+    }
+    
+    @Override
+    public void release(String permitKey, String permitId) {
+        if (!redissonClient.getPermitExpirableSemaphore(permitKey).tryRelease(permitId)) {
+            log.warn("이미 만료된 permit입니다: {}, permitId={}", permitKey, permitId);
+        }
+    }
+}
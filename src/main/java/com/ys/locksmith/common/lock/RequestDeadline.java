@@ -0,0 +1,64 @@
+package com.ys.locksmith.common.lock;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// 클라이언트가 응답을 기다리는 기한. 락 대기와 외부 호출을 남은 시간으로 줄이고, 기한이 지난 작업은 시작 전에 버린다
+public final class RequestDeadline {
+    
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+    
+    private RequestDeadline() {
+    }
+    
+    // 중첩되면 먼저 끝나는 기한을 따른다. null이면 바깥 기한을 그대로 유지한다
+    public static Scope start(Instant deadline) {
+        Instant previous = CURRENT.get();
+        if (deadline != null && (previous == null || deadline.isBefore(previous))) {
+            CURRENT.set(deadline);
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+    
+    // 기한이 없으면 Long.MAX_VALUE를 반환한다
+    public static long remainingNanos() {
+        Instant deadline = CURRENT.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Duration.between(Instant.now(), deadline).toNanos();
+    }
+    
+    public static long remainingMillis() {
+        Instant deadline = CURRENT.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Duration.between(Instant.now(), deadline).toMillis();
+    }
+    
+    public static void check() {
+        Instant deadline = CURRENT.get();
+        if (deadline != null && !Instant.now().isBefore(deadline)) {
+            throw new RequestDeadlineExceededException(deadline);
+        }
+    }
+    
+    // 요청 기한을 들고 다니는 명령 객체. @DistributedLock 메서드의 인자로 오면 락 대기 전에 기한을 적용한다
+    public interface Carrier {
+        
+        Instant getDeadline();
+    }
+    
+    public interface Scope extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+// 클라이언트가 이미 응답을 기다리지 않는 요청이므로 남은 작업을 진행하지 않는다
+@Getter
+public class RequestDeadlineExceededException extends RuntimeException {
+    
+    private final Instant deadline;
+    
+    public RequestDeadlineExceededException(Instant deadline) {
+        super("요청 기한이 지나 작업을 중단합니다: " + deadline);
+        this.deadline = deadline;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ys.locksmith.common.lock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+public class SingleFlight<K, V> {
+    
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    // 같은 키로 이미 실행 중인 작업이 있으면 새로 실행하지 않고 그 결과를 함께 받는다
+    public V execute(K key, Supplier<V> supplier) {
+        while (true) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            
+            if (existing == null) {
+                return lead(key, call, supplier);
+            }
+            
+            log.debug("진행 중인 요청에 합류: {}", key);
+            try {
+                return await(existing);
+            } catch (RequestDeadlineExceededException | LockContendedException e) {
+                // 먼저 온 요청의 기한이나 락 대기가 더 짧아서 실패했을 수 있으므로 자기 기한이 남았으면 직접 다시 시도한다
+                if (!existing.isCompletedExceptionally() || RequestDeadline.remainingNanos() <= 0) {
+                    throw e;
+                }
+                // 먼저 온 요청이 아직 맵에서 빠지기 전이어도 끝난 작업에 다시 합류하지 않도록 직접 비운다
+                inFlight.remove(key, existing);
+                log.debug("먼저 온 요청이 기한 안에 끝나지 못해 다시 시도: {}", key);
+            }
+        }
+    }
+    
+    private V lead(K key, CompletableFuture<V> call, Supplier<V> supplier) {
+        try {
+            V result = supplier.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+    
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    // 합류한 요청은 자기 요청 기한까지만 기다린다. 먼저 온 요청이 오래 걸려도 그 기한에 묶이지 않는다
+    private V await(CompletableFuture<V> call) {
+        while (true) {
+            RequestDeadline.check();
+            long remainingNanos = RequestDeadline.remainingNanos();
+            try {
+                return remainingNanos == Long.MAX_VALUE ? call.get() : call.get(remainingNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // 다음 check()에서 RequestDeadlineExceededException으로 끝난다
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("진행 중인 요청 대기 중 인터럽트 발생", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+}
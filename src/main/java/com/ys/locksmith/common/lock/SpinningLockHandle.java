@@ -0,0 +1,84 @@
+package com.ys.locksmith.common.lock;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 대기 없이(waitTime 0) 한 번씩만 시도하고, 실패하면 full jitter 지수 백오프 후 다시 시도한다
+// 해제 알림을 구독하지 않으므로 대기자가 많아도 unlock 한 번에 모든 대기자가 동시에 재시도하지 않는다
+class SpinningLockHandle implements LockHandle {
+    
+    private final LockHandle delegate;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    
+    SpinningLockHandle(LockHandle delegate, long baseBackoff, long maxBackoff, TimeUnit unit) {
+        this.delegate = delegate;
+        this.baseBackoffNanos = unit.toNanos(baseBackoff);
+        this.maxBackoffNanos = unit.toNanos(maxBackoff);
+    }
+    
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit timeUnit) throws InterruptedException {
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        
+        for (int attempt = 0; ; attempt++) {
+            if (delegate.tryLock(0, leaseTime, timeUnit)) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(backoffNanos(attempt), remaining));
+        }
+    }
+    
+    @Override
+    public boolean isHeldByCurrentThread() {
+        return delegate.isHeldByCurrentThread();
+    }
+    
+    @Override
+    public void unlock() {
+        delegate.unlock();
+    }
+    
+    @Override
+    public CompletionStage<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit timeUnit, long ownerId) {
+        long deadline = System.nanoTime() + timeUnit.toNanos(waitTime);
+        return tryLockAsync(0, deadline, leaseTime, timeUnit, ownerId);
+    }
+    
+    @Override
+    public CompletionStage<Void> unlockAsync(long ownerId) {
+        return delegate.unlockAsync(ownerId);
+    }
+    
+    @Override
+    public long remainingLeaseMillis() {
+        return delegate.remainingLeaseMillis();
+    }
+    
+    private CompletionStage<Boolean> tryLockAsync(int attempt, long deadline, long leaseTime, TimeUnit timeUnit, long ownerId) {
+        return delegate.tryLockAsync(0, leaseTime, timeUnit, ownerId)
+            .thenCompose(locked -> {
+                long remaining = deadline - System.nanoTime();
+                if (locked || remaining <= 0) {
+                    return CompletableFuture.completedFuture(locked);
+                }
+                
+                // 백오프 동안 스레드를 점유하지 않고 지연 실행으로 다음 시도를 예약한다
+                Executor delayed = CompletableFuture.delayedExecutor(Math.min(backoffNanos(attempt), remaining), TimeUnit.NANOSECONDS);
+                return CompletableFuture.runAsync(() -> { }, delayed)
+                    .thenCompose(ignored -> tryLockAsync(attempt + 1, deadline, leaseTime, timeUnit, ownerId));
+            });
+    }
+    
+    private long backoffNanos(int attempt) {
+        long bound = Math.min(baseBackoffNanos << Math.min(attempt, 20), maxBackoffNanos);
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
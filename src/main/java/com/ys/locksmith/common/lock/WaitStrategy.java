@@ -0,0 +1,19 @@
+package com.ys.locksmith.common.lock;
+
+public enum WaitStrategy {
+    PUBSUB("해제 알림을 구독하고 알림을 받으면 다시 시도"),
+    SPIN("알림 없이 지수 백오프(지터 포함) 간격으로 재시도"),
+    FAIR("요청 순서대로 획득하고 다음 대기자만 깨움"),
+    // 우선순위가 필요하므로 DistributedLockUtil에서는 LockPriority를 받는 메서드로만 사용할 수 있다 (@DistributedLock은 priority 속성, 기본 NORMAL)
+    PRIORITY("우선순위 대기열 순서대로 획득, 같은 우선순위는 요청 순서");
+    
+    private final String description;
+    
+    WaitStrategy(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -4,23 +4,36 @@ import com.ys.locksmith.payment.application.port.in.PaymentCommand;
 import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
 import com.ys.locksmith.payment.domain.Payment;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
 public class PaymentController {
     
+    // 클라이언트가 기다릴 수 있는 시간(ms). 서버 기본값보다 길게 잡을 수는 없다
+    static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+    
     private final PaymentUseCase paymentUseCase;
     
+    @Value("${locksmith.request.timeout:10s}")
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    
     @PostMapping
-    public ResponseEntity<PaymentResponse> processPayment(@RequestBody PaymentRequest request) {
+    public ResponseEntity<PaymentResponse> processPayment(@RequestBody PaymentRequest request,
+                                                          @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis) {
         PaymentCommand command = PaymentCommand.of(
             request.getUserId(),
             request.getOrderId(),
             request.getAmount(),
-            request.getPaymentMethod()
+            request.getPaymentMethod(),
+            deadlineOf(timeoutMillis)
         );
         
         Payment payment = paymentUseCase.processPayment(command);
@@ -28,6 +41,21 @@ public class PaymentController {
         return ResponseEntity.ok(PaymentResponse.from(payment));
     }
     
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<PaymentResponse>> processPaymentAsync(@RequestBody PaymentRequest request,
+                                                                                  @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        PaymentCommand command = PaymentCommand.of(
+            request.getUserId(),
+            request.getOrderId(),
+            request.getAmount(),
+            request.getPaymentMethod(),
+            deadlineOf(timeoutMillis)
+        );
+        
+        return paymentUseCase.processPaymentAsync(command)
+            .thenApply(payment -> ResponseEntity.ok(PaymentResponse.from(payment)));
+    }
+    
     @GetMapping("/{paymentId}")
     public ResponseEntity<PaymentResponse> getPayment(@PathVariable Long paymentId) {
         Payment payment = paymentUseCase.getPayment(paymentId);
@@ -39,4 +67,16 @@ public class PaymentController {
         Payment payment = paymentUseCase.cancelPayment(paymentId);
         return ResponseEntity.ok(PaymentResponse.from(payment));
     }
+    
+    private Instant deadlineOf(Long timeoutMillis) {
+        if (timeoutMillis == null) {
+            return Instant.now().plus(defaultTimeout);
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("요청 timeout은 양수여야 합니다: " + timeoutMillis);
+        }
+        
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        return Instant.now().plus(timeout.compareTo(defaultTimeout) < 0 ? timeout : defaultTimeout);
+    }
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package com.ys.locksmith.payment.adapter.out;
 
 import com.ys.locksmith.payment.application.port.out.PaymentRepository;
 import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentStatus;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -29,4 +33,30 @@ public interface JpaPaymentRepository extends JpaRepository<Payment, Long>, Paym
     
     @Override
     boolean existsByOrderId(String orderId);
+    
+    // 상태 확인과 변경이 한 문장이므로 읽고 쓰는 사이에 다른 요청이 끼어들 틈이 없다
+    // 버전도 올려 이 행을 읽어 둔 낙관적 락 트랜잭션이 변경을 알아차리게 하고, 영속성 컨텍스트의 낡은 엔티티는 비운다
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :target, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+        "WHERE p.id = :id AND p.status = :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") PaymentStatus expected,
+                         @Param("target") PaymentStatus target,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Override
+    @Query("SELECT LOCAL DATETIME FROM Payment p WHERE p.id = :id")
+    Optional<LocalDateTime> findCurrentTimeById(@Param("id") Long id);
+    
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.updatedAt = :claimedAt, p.version = p.version + 1 " +
+        "WHERE p.id = :id AND p.status = :status AND p.updatedAt < :staleBefore")
+    int claimStale(@Param("id") Long id,
+                   @Param("status") PaymentStatus status,
+                   @Param("staleBefore") LocalDateTime staleBefore,
+                   @Param("claimedAt") LocalDateTime claimedAt);
 }
\ No newline at end of file
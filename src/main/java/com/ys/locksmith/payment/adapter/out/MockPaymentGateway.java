@@ -1,5 +1,8 @@
 package com.ys.locksmith.payment.adapter.out;
 
+import com.ys.locksmith.common.lock.DistributedPermit;
+import com.ys.locksmith.common.lock.LockDeadline;
+import com.ys.locksmith.common.lock.RequestDeadline;
 import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
 import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
 import com.ys.locksmith.payment.domain.Money;
@@ -8,17 +11,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class MockPaymentGateway implements ExternalPaymentGateway {
     
+    // PG사의 동시 처리 한도를 넘지 않도록 클러스터 전체의 동시 호출 수를 제한한다
     @Override
+    @DistributedPermit(key = "permit:gateway:payment", permits = 20, waitTime = 5, leaseTime = 30)
     public PaymentGatewayResult processPayment(String orderId, Money amount, PaymentMethod paymentMethod) {
         log.info("Mock 결제 게이트웨이 호출: orderId={}, amount={}, method={}", orderId, amount, paymentMethod);
         
         try {
-            Thread.sleep(100);
+            if (!simulateLatency(100)) {
+                return PaymentGatewayResult.failure("게이트웨이 응답 시간이 초과되었습니다.");
+            }
             
             if (amount.getAmount().doubleValue() > 1000000) {
                 return PaymentGatewayResult.failure("결제 한도를 초과했습니다.");
@@ -38,11 +46,26 @@ public class MockPaymentGateway implements ExternalPaymentGateway {
         log.info("Mock 결제 취소 호출: orderId={}", orderId);
         
         try {
-            Thread.sleep(50);
-            return true;
+            return simulateLatency(50);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return false;
         }
     }
+    
+    // 락 lease나 요청 기한 중 먼저 끝나는 시점에 응답 대기를 포기한다 (실제 PG 연동에서는 요청 타임아웃으로 사용)
+    // 기한은 요청을 보내기 전에만 확인한다. 보낸 뒤에 예외로 끊으면 PG사에서 처리된 결제가 롤백되어 기록 없이 남는다
+    // 응답을 기다리지 못한 요청은 PG사에서 승인하지 않은 것으로 보고 false를 반환한다
+    private boolean simulateLatency(long latencyMillis) throws InterruptedException {
+        LockDeadline.check();
+        RequestDeadline.check();
+        long latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        long budgetNanos = Math.min(LockDeadline.remainingNanos(), RequestDeadline.remainingNanos());
+        if (budgetNanos < latencyNanos) {
+            TimeUnit.NANOSECONDS.sleep(Math.max(budgetNanos, 0));
+            return false;
+        }
+        TimeUnit.NANOSECONDS.sleep(latencyNanos);
+        return true;
+    }
 }
\ No newline at end of file
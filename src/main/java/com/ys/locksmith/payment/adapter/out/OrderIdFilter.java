@@ -0,0 +1,163 @@
+package com.ys.locksmith.payment.adapter.out;
+
+import com.ys.locksmith.common.filter.ScalableBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BooleanSupplier;
+
+// 저장된 적 있는 주문 ID의 Bloom filter. "없다"는 확실하므로 existsByOrderId 조회를 건너뛰고, "있을 수 있다"면 DB에 묻는다
+// 주문 ID는 저장 직전(커밋 전)에 추가하므로 롤백된 주문은 오탐으로만 남는다
+// 노드가 여럿이면 다른 노드가 저장한 주문은 로컬 filter에 없으므로 redis-sync로 Redis filter를 함께 확인한다
+@Component
+@ConditionalOnProperty(name = "locksmith.order-filter.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderIdFilter {
+    
+    private static final String REDIS_FILTER_NAME = "locksmith_order_ids";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<RedissonClient> redissonClient;
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositive;
+    
+    // 첫 층의 용량. 넘치면 층이 늘어나므로 상한은 아니다
+    @Value("${locksmith.order-filter.expected-insertions:100000}")
+    private long expectedInsertions = 100_000;
+    
+    @Value("${locksmith.order-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+    
+    @Value("${locksmith.order-filter.redis-sync:false}")
+    private boolean redisSync;
+    
+    // RBloomFilter는 크기를 늘릴 수 없으므로 테이블이 자랄 만큼 넉넉히 잡는다
+    @Value("${locksmith.order-filter.redis-expected-insertions:10000000}")
+    private long redisExpectedInsertions = 10_000_000;
+    
+    private volatile ScalableBloomFilter local;
+    private volatile RBloomFilter<String> remote;
+    // 재구축이 끝나기 전에는 "없다"고 답할 수 없으므로 모든 조회를 DB로 보낸다
+    private volatile boolean ready;
+    
+    public OrderIdFilter(JdbcTemplate jdbcTemplate, ObjectProvider<RedissonClient> redissonClient, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redissonClient = redissonClient;
+        this.absent = outcomeCounter(meterRegistry, "absent");
+        this.present = outcomeCounter(meterRegistry, "present");
+        this.falsePositive = outcomeCounter(meterRegistry, "false_positive");
+        Gauge.builder("locksmith.order.filter.false_positive_rate", this, OrderIdFilter::observedFalsePositiveRate)
+            .description("DB에 없는 주문 ID 중 filter가 있을 수 있다고 답한 비율")
+            .register(meterRegistry);
+        Gauge.builder("locksmith.order.filter.size", this, filter -> filter.local != null ? filter.local.approximateSize() : 0)
+            .description("로컬 filter에 들어 있는 주문 ID 수(근사)")
+            .register(meterRegistry);
+    }
+    
+    // 새 filter를 먼저 걸어 두고 테이블을 읽으므로, 재구축 중에 저장된 주문도 빠지지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        ready = false;
+        ScalableBloomFilter rebuilt = new ScalableBloomFilter(expectedInsertions, falsePositiveRate);
+        local = rebuilt;
+        RBloomFilter<String> rebuiltRemote = redisSync ? initRemote() : null;
+        boolean populateRemote = rebuiltRemote != null && rebuiltRemote.tryInit(redisExpectedInsertions, falsePositiveRate);
+        remote = rebuiltRemote;
+        
+        jdbcTemplate.query("SELECT order_id FROM payments", resultSet -> {
+            String orderId = resultSet.getString(1);
+            rebuilt.put(orderId);
+            if (populateRemote) {
+                rebuiltRemote.add(orderId);
+            }
+        });
+        
+        ready = true;
+        log.info("주문 ID filter 재구축 완료: size={}, layers={}, redisSync={}, elapsed={}ms",
+            rebuilt.approximateSize(), rebuilt.layerCount(), rebuiltRemote != null, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+    
+    // query는 filter가 "있을 수 있다"고 답할 때만 실행된다
+    public boolean exists(String orderId, BooleanSupplier query) {
+        if (!ready) {
+            return query.getAsBoolean();
+        }
+        if (!mightContain(orderId)) {
+            absent.increment();
+            return false;
+        }
+        
+        boolean exists = query.getAsBoolean();
+        (exists ? present : falsePositive).increment();
+        return exists;
+    }
+    
+    public void put(String orderId) {
+        ScalableBloomFilter filter = local;
+        if (filter != null) {
+            filter.put(orderId);
+        }
+        
+        RBloomFilter<String> shared = remote;
+        if (shared != null) {
+            try {
+                shared.add(orderId);
+            } catch (RuntimeException e) {
+                // 다른 노드가 이 주문을 "없다"고 볼 수 있지만 order_id unique 제약이 중복 저장을 막는다
+                log.warn("Redis 주문 ID filter 추가 실패: orderId={}", orderId, e);
+            }
+        }
+    }
+    
+    private boolean mightContain(String orderId) {
+        if (local.mightContain(orderId)) {
+            return true;
+        }
+        
+        RBloomFilter<String> shared = remote;
+        if (shared == null) {
+            return false;
+        }
+        try {
+            return shared.contains(orderId);
+        } catch (RuntimeException e) {
+            log.debug("Redis 주문 ID filter 조회 실패, DB로 확인합니다: orderId={}", orderId, e);
+            return true;
+        }
+    }
+    
+    private RBloomFilter<String> initRemote() {
+        RedissonClient client = redissonClient.getIfAvailable();
+        if (client == null) {
+            log.warn("RedissonClient가 없어 주문 ID filter를 노드 안에서만 사용합니다.");
+            return null;
+        }
+        return client.getBloomFilter(REDIS_FILTER_NAME, StringCodec.INSTANCE);
+    }
+    
+    private double observedFalsePositiveRate() {
+        double negatives = absent.count() + falsePositive.count();
+        return negatives == 0 ? 0 : falsePositive.count() / negatives;
+    }
+    
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("locksmith.order.filter")
+            .description("주문 ID filter 조회 결과")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
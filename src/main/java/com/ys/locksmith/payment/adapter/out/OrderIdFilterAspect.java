@@ -0,0 +1,43 @@
+package com.ys.locksmith.payment.adapter.out;
+
+import com.ys.locksmith.payment.domain.Payment;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 모든 결제 전략이 PaymentRepository.existsByOrderId를 직접 호출하므로, 서비스마다 고치지 않고 저장소 포트 앞에서 filter를 적용한다
+@Aspect
+@Component
+@ConditionalOnProperty(name = "locksmith.order-filter.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OrderIdFilterAspect {
+    
+    private final OrderIdFilter orderIdFilter;
+    
+    @Around("execution(boolean com.ys.locksmith.payment.application.port.out.PaymentRepository+.existsByOrderId(String)) && args(orderId)")
+    public Object existsByOrderId(ProceedingJoinPoint joinPoint, String orderId) {
+        return orderIdFilter.exists(orderId, () -> {
+            try {
+                return (Boolean) joinPoint.proceed();
+            } catch (Throwable throwable) {
+                if (throwable instanceof RuntimeException) {
+                    throw (RuntimeException) throwable;
+                }
+                throw new RuntimeException(throwable);
+            }
+        });
+    }
+    
+    // INSERT 전에 넣어야 커밋된 주문을 "없다"고 답하는 구간이 생기지 않는다
+    // 상태만 바꾸는 UPDATE는 이미 filter에 있는 주문이므로 id가 없는 새 결제일 때만 넣는다
+    @Before("execution(* com.ys.locksmith.payment.application.port.out.PaymentRepository+.save(..)) && args(payment)")
+    public void save(Payment payment) {
+        if (payment.getId() == null) {
+            orderIdFilter.put(payment.getOrderId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ys.locksmith.payment.application.port.in;
 
+import com.ys.locksmith.common.lock.RequestDeadline;
 import com.ys.locksmith.payment.domain.Money;
 import com.ys.locksmith.payment.domain.PaymentMethod;
 import lombok.AccessLevel;
@@ -7,17 +8,25 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
-public class PaymentCommand {
+public class PaymentCommand implements RequestDeadline.Carrier {
     
     private Long userId;
     private String orderId;
     private Money amount;
     private PaymentMethod paymentMethod;
+    // 클라이언트가 응답을 기다리는 기한, null이면 기한 없음
+    private Instant deadline;
     
     public static PaymentCommand of(Long userId, String orderId, Money amount, PaymentMethod paymentMethod) {
-        return new PaymentCommand(userId, orderId, amount, paymentMethod);
+        return of(userId, orderId, amount, paymentMethod, null);
+    }
+    
+    public static PaymentCommand of(Long userId, String orderId, Money amount, PaymentMethod paymentMethod, Instant deadline) {
+        return new PaymentCommand(userId, orderId, amount, paymentMethod, deadline);
     }
 }
\ No newline at end of file
@@ -2,10 +2,21 @@ package com.ys.locksmith.payment.application.port.in;
 
 import com.ys.locksmith.payment.domain.Payment;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface PaymentUseCase {
     
     Payment processPayment(PaymentCommand command);
     
+    // 비동기 락을 지원하지 않는 전략은 호출 스레드에서 동기로 처리한다
+    default CompletableFuture<Payment> processPaymentAsync(PaymentCommand command) {
+        try {
+            return CompletableFuture.completedFuture(processPayment(command));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
     Payment getPayment(Long paymentId);
     
     Payment cancelPayment(Long paymentId);
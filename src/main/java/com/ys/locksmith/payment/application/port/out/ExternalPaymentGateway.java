@@ -3,6 +3,8 @@ package com.ys.locksmith.payment.application.port.out;
 import com.ys.locksmith.payment.domain.Money;
 import com.ys.locksmith.payment.domain.PaymentMethod;
 
+// 구현체는 RequestDeadline과 LockDeadline의 남은 시간을 호출 타임아웃 상한으로 사용한다
+// 기한 초과 예외는 요청을 보내기 전에만 던지고, 보낸 뒤의 시간 초과는 실패 결과로 돌려준다
 public interface ExternalPaymentGateway {
     
     PaymentGatewayResult processPayment(String orderId, Money amount, PaymentMethod paymentMethod);
@@ -1,7 +1,9 @@
 package com.ys.locksmith.payment.application.port.out;
 
 import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentStatus;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PaymentRepository {
@@ -17,4 +19,14 @@ public interface PaymentRepository {
     Optional<Payment> findByOrderIdWithPessimisticLock(String orderId);
     
     boolean existsByOrderId(String orderId);
+    
+    // 현재 상태가 expected일 때만 target으로 바꾸는 조건부 UPDATE. 바뀐 행 수(0 또는 1)를 돌려준다
+    int transitionStatus(Long id, PaymentStatus expected, PaymentStatus target, LocalDateTime updatedAt);
+    
+    // 노드마다 시계가 다를 수 있으므로 기한 비교에 쓸 현재 시각은 DB에서 읽는다. 행이 없으면 비어 있다
+    Optional<LocalDateTime> findCurrentTimeById(Long id);
+    
+    // status인 채로 staleBefore 이전부터 갱신되지 않은 행만 updatedAt을 claimedAt으로 바꾼다
+    // 처리하던 노드가 결과를 남기지 못한 행을 넘겨받을 때 쓰며, 동시에 넘겨받으려는 요청 중 하나만 1을 받는다
+    int claimStale(Long id, PaymentStatus status, LocalDateTime staleBefore, LocalDateTime claimedAt);
 }
\ No newline at end of file
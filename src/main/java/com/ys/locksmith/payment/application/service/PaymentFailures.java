@@ -0,0 +1,19 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.LockLeaseExpiredException;
+import com.ys.locksmith.common.lock.RequestDeadlineExceededException;
+
+// 락을 쓰는 결제 전략들이 게이트웨이 호출 실패를 같은 규칙으로 처리하도록 모아 둔다
+final class PaymentFailures {
+    
+    private PaymentFailures() {
+    }
+    
+    // lease나 요청 기한을 넘긴 작업은 감싸지 않고 그대로 전파해 트랜잭션째 롤백한다
+    // 그 밖의 예외는 호출자가 실패 상태를 남기고 RuntimeException으로 감싼다
+    static void rethrowIfAborted(Exception e) {
+        if (e instanceof LockLeaseExpiredException || e instanceof RequestDeadlineExceededException) {
+            throw (RuntimeException) e;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ys.locksmith.payment.application.service;
 
 import com.ys.locksmith.common.lock.DistributedLock;
+import com.ys.locksmith.common.lock.LockDeadline;
+import com.ys.locksmith.common.lock.LockMode;
 import com.ys.locksmith.payment.application.port.in.PaymentCommand;
 import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
 import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
@@ -22,7 +24,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
     private final ExternalPaymentGateway paymentGateway;
     
     @Override
-    @DistributedLock(key = "payment:order:#command.orderId", waitTime = 10, leaseTime = 30)
+    @DistributedLock(key = "'payment:order:' + #command.orderId", waitTime = 10, leaseTime = 30)
     public Payment processPayment(PaymentCommand command) {
         log.info("AOP 분산락을 사용한 결제 처리 시작: orderId={}", command.getOrderId());
         
@@ -47,6 +49,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
                 command.getAmount(),
                 command.getPaymentMethod()
             );
+            LockDeadline.settle();
             
             if (result.isSuccess()) {
                 savedPayment.complete();
@@ -59,6 +62,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
             return paymentRepository.save(savedPayment);
             
         } catch (Exception e) {
+            PaymentFailures.rethrowIfAborted(e);
             savedPayment.fail();
             paymentRepository.save(savedPayment);
             log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
@@ -66,7 +70,9 @@ public class PaymentServiceWithAop implements PaymentUseCase {
         }
     }
     
+    // 조회끼리는 병렬로 실행되고, 같은 결제의 취소가 진행 중일 때만 기다린다
     @Override
+    @DistributedLock(key = "'payment:' + #paymentId", mode = LockMode.READ, waitTime = 10, leaseTime = 30)
     @Transactional(readOnly = true)
     public Payment getPayment(Long paymentId) {
         return paymentRepository.findById(paymentId)
@@ -74,7 +80,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
     }
     
     @Override
-    @DistributedLock(key = "payment:cancel:#paymentId", waitTime = 10, leaseTime = 30)
+    @DistributedLock(key = "'payment:' + #paymentId", mode = LockMode.WRITE, waitTime = 10, leaseTime = 30)
     public Payment cancelPayment(Long paymentId) {
         Payment payment = getPayment(paymentId);
         
@@ -86,6 +92,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
         
         try {
             boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+            LockDeadline.settle();
             
             if (cancelResult) {
                 payment.cancel();
@@ -98,6 +105,7 @@ public class PaymentServiceWithAop implements PaymentUseCase {
             return paymentRepository.save(payment);
             
         } catch (Exception e) {
+            PaymentFailures.rethrowIfAborted(e);
             log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
             throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
         }
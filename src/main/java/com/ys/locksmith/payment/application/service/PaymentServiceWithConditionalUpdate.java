@@ -0,0 +1,171 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 상태 전이를 UPDATE ... WHERE status = ?로 DB에서 비교 후 교체(CAS)하므로 행 락도 분산락도 잡지 않는다
+// 바뀐 행이 0이면 다른 요청이 먼저 전이시킨 것이므로 기다리거나 재시도하지 않고 바로 거절한다
+@Service("paymentServiceWithConditionalUpdate")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PaymentServiceWithConditionalUpdate implements PaymentUseCase {
+    
+    private final PaymentRepository paymentRepository;
+    private final ExternalPaymentGateway paymentGateway;
+    
+    // 이 시간이 지나도록 CANCELLING인 결제는 처리하던 노드가 확정하지 못한 것으로 보고 다음 취소 요청이 넘겨받는다
+    @Value("${locksmith.conditional-update.cancelling-timeout:5m}")
+    private Duration cancellingTimeout = Duration.ofMinutes(5);
+    
+    // 새 행을 만드는 경로라 비교할 이전 상태가 없으므로 중복은 order_id unique 제약으로 막는다
+    @Override
+    public Payment processPayment(PaymentCommand command) {
+        log.info("조건부 UPDATE 전략의 결제 처리 시작: orderId={}", command.getOrderId());
+        
+        validatePaymentCommand(command);
+        
+        if (paymentRepository.existsByOrderId(command.getOrderId())) {
+            throw new IllegalArgumentException("이미 존재하는 주문 ID입니다: " + command.getOrderId());
+        }
+        
+        Payment payment = Payment.create(
+            command.getUserId(),
+            command.getOrderId(),
+            command.getAmount(),
+            command.getPaymentMethod()
+        );
+        
+        Payment savedPayment;
+        try {
+            savedPayment = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // exists 확인과 INSERT 사이에 같은 주문이 먼저 저장된 경우
+            throw new DuplicateOrderException(command.getOrderId());
+        }
+        
+        try {
+            PaymentGatewayResult result = paymentGateway.processPayment(
+                command.getOrderId(),
+                command.getAmount(),
+                command.getPaymentMethod()
+            );
+            
+            if (result.isSuccess()) {
+                savedPayment.complete();
+                log.info("결제 성공: orderId={}, transactionId={}", command.getOrderId(), result.getTransactionId());
+            } else {
+                savedPayment.fail();
+                log.warn("결제 실패: orderId={}, message={}", command.getOrderId(), result.getMessage());
+            }
+            
+            return paymentRepository.save(savedPayment);
+            
+        } catch (Exception e) {
+            savedPayment.fail();
+            paymentRepository.save(savedPayment);
+            log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
+            throw new RuntimeException("결제 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Payment getPayment(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+            .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
+    }
+    
+    // COMPLETED -> CANCELLING 전이를 게이트웨이 호출 전에 커밋해 취소를 선점하고, 환불이 끝난 뒤에 CANCELLED로 확정한다
+    // 같은 결제의 다른 취소 요청은 0행이 바뀌어 게이트웨이까지 가지 않고, 게이트웨이가 실패하면 COMPLETED로 되돌린다
+    // 전이가 바로 커밋되어야 하므로 호출자의 트랜잭션에 참여하지 않는다
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Payment cancelPayment(Long paymentId) {
+        log.info("조건부 UPDATE를 사용한 결제 취소 처리 시작: paymentId={}", paymentId);
+        
+        Payment payment = getPayment(paymentId);
+        
+        if (!claimCancel(paymentId)) {
+            throw new IllegalStateException("완료된 결제만 취소할 수 있습니다.");
+        }
+        
+        try {
+            boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+            
+            if (!cancelResult) {
+                log.warn("결제 취소 실패: orderId={}", payment.getOrderId());
+                throw new RuntimeException("결제 취소에 실패했습니다.");
+            }
+            log.info("결제 취소 성공: orderId={}", payment.getOrderId());
+            
+        } catch (Exception e) {
+            restoreCompleted(paymentId, payment.getOrderId());
+            log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
+            throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
+        }
+        
+        // 환불은 이미 끝났으므로 확정에 실패해도 되돌리지 않는다. CANCELLING으로 남은 행은 다음 취소 요청이 넘겨받아 확정한다
+        if (paymentRepository.transitionStatus(paymentId, PaymentStatus.CANCELLING, PaymentStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            log.error("취소 확정 실패: paymentId={}, orderId={}", paymentId, payment.getOrderId());
+        }
+        
+        return getPayment(paymentId);
+    }
+    
+    // 확정 전에 노드가 죽어 cancellingTimeout이 지나도록 CANCELLING인 결제는 이 요청이 넘겨받아 환불을 다시 요청한다
+    // PG 취소는 주문 ID 기준으로 멱등이라고 가정한다
+    private boolean claimCancel(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (paymentRepository.transitionStatus(paymentId, PaymentStatus.COMPLETED, PaymentStatus.CANCELLING, now) == 1) {
+            return true;
+        }
+        // 노드마다 시계가 다를 수 있으므로 기한은 insert-first와 같이 DB 시각으로 잰다
+        boolean claimed = paymentRepository.findCurrentTimeById(paymentId)
+            .filter(dbNow -> paymentRepository.claimStale(paymentId, PaymentStatus.CANCELLING, dbNow.minus(cancellingTimeout), dbNow) == 1)
+            .isPresent();
+        if (claimed) {
+            log.warn("기한이 지난 취소 처리를 넘겨받습니다: paymentId={}", paymentId);
+        }
+        return claimed;
+    }
+    
+    // 선점한 뒤로는 이 요청 외에 CANCELLING 상태를 바꾸는 경로가 없으므로 되돌리기도 조건부 UPDATE 한 번이면 된다
+    private void restoreCompleted(Long paymentId, String orderId) {
+        int restored = paymentRepository.transitionStatus(paymentId, PaymentStatus.CANCELLING, PaymentStatus.COMPLETED, LocalDateTime.now());
+        if (restored == 0) {
+            log.error("취소 선점 되돌리기 실패: paymentId={}, orderId={}", paymentId, orderId);
+        }
+    }
+    
+    private void validatePaymentCommand(PaymentCommand command) {
+        if (command.getUserId() == null) {
+            throw new IllegalArgumentException("사용자 ID는 필수입니다.");
+        }
+        if (command.getOrderId() == null || command.getOrderId().trim().isEmpty()) {
+            throw new IllegalArgumentException("주문 ID는 필수입니다.");
+        }
+        if (command.getAmount() == null || !command.getAmount().isPositive()) {
+            throw new IllegalArgumentException("결제 금액은 양수여야 합니다.");
+        }
+        if (command.getPaymentMethod() == null) {
+            throw new IllegalArgumentException("결제 방법은 필수입니다.");
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.ys.locksmith.payment.application.service;
 
 import com.ys.locksmith.common.lock.DistributedLockUtil;
+import com.ys.locksmith.common.lock.LockDeadline;
+import com.ys.locksmith.common.lock.LockMetrics;
+import com.ys.locksmith.common.lock.RequestDeadline;
 import com.ys.locksmith.payment.application.port.in.PaymentCommand;
 import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
 import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
@@ -10,25 +13,32 @@ import com.ys.locksmith.payment.domain.Payment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.function.Supplier;
+
 @Service("paymentServiceWithHybridLock")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class PaymentServiceWithHybridLock implements PaymentUseCase {
     
+    private static final String LOCK_STRATEGY = "hybrid";
+    
     private final PaymentRepository paymentRepository;
     private final ExternalPaymentGateway paymentGateway;
     private final DistributedLockUtil distributedLockUtil;
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Payment processPayment(PaymentCommand command) {
         validatePaymentCommand(command);
         
         String lockKey = "payment:order:" + command.getOrderId();
         
-        return distributedLockUtil.executeWithLock(lockKey, () -> {
+        return executeWithHybridLock(lockKey, command.getDeadline(), () -> {
             log.info("하이브리드 락(분산락 + 비관적 락)을 사용한 결제 처리 시작: orderId={}", command.getOrderId());
             
             if (paymentRepository.existsByOrderId(command.getOrderId())) {
@@ -50,6 +60,7 @@ public class PaymentServiceWithHybridLock implements PaymentUseCase {
                     command.getAmount(),
                     command.getPaymentMethod()
                 );
+                LockDeadline.settle();
                 
                 if (result.isSuccess()) {
                     savedPayment.complete();
@@ -62,6 +73,7 @@ public class PaymentServiceWithHybridLock implements PaymentUseCase {
                 return paymentRepository.save(savedPayment);
                 
             } catch (Exception e) {
+                PaymentFailures.rethrowIfAborted(e);
                 savedPayment.fail();
                 paymentRepository.save(savedPayment);
                 log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
@@ -78,13 +90,15 @@ public class PaymentServiceWithHybridLock implements PaymentUseCase {
     }
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Payment cancelPayment(Long paymentId) {
         String lockKey = "payment:cancel:" + paymentId;
         
-        return distributedLockUtil.executeWithLock(lockKey, () -> {
+        return executeWithHybridLock(lockKey, null, () -> {
             log.info("하이브리드 락을 사용한 결제 취소 처리 시작: paymentId={}", paymentId);
             
-            Payment payment = paymentRepository.findByIdWithPessimisticLock(paymentId)
+            // 락은 트랜잭션 완료 후 해제되므로 행 잠금 없이 조회해도 취소가 직렬화된다
+            Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
             
             if (!payment.isCompleted()) {
@@ -93,6 +107,7 @@ public class PaymentServiceWithHybridLock implements PaymentUseCase {
             
             try {
                 boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+                LockDeadline.settle();
                 
                 if (cancelResult) {
                     payment.cancel();
@@ -105,12 +120,20 @@ public class PaymentServiceWithHybridLock implements PaymentUseCase {
                 return paymentRepository.save(payment);
                 
             } catch (Exception e) {
+                PaymentFailures.rethrowIfAborted(e);
                 log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
                 throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
             }
         });
     }
     
+    private Payment executeWithHybridLock(String lockKey, Instant deadline, Supplier<Payment> task) {
+        try (LockMetrics.StrategyScope ignored = LockMetrics.withStrategy(LOCK_STRATEGY);
+             RequestDeadline.Scope requestDeadline = RequestDeadline.start(deadline)) {
+            return distributedLockUtil.executeWithLockInTransaction(lockKey, task);
+        }
+    }
+    
     private void validatePaymentCommand(PaymentCommand command) {
         if (command.getUserId() == null) {
             throw new IllegalArgumentException("사용자 ID는 필수입니다.");
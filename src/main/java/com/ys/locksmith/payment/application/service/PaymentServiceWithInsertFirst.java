@@ -0,0 +1,196 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.common.lock.RequestDeadline;
+import com.ys.locksmith.common.lock.RequestDeadlineExceededException;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 분산락과 existsByOrderId 조회 없이 order_id unique 제약만으로 중복 결제를 막는다
+// PENDING 행을 먼저 커밋해 주문을 선점하므로, 게이트웨이 호출 중에 들어온 중복 요청은 unique 인덱스에서 기다리지 않고 바로 실패한다
+@Service("paymentServiceWithInsertFirst")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PaymentServiceWithInsertFirst implements PaymentUseCase {
+    
+    private final PaymentRepository paymentRepository;
+    private final ExternalPaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    
+    // 이 시간이 지나도록 PENDING인 행은 처리하던 노드가 결과를 남기지 못한 것으로 보고 같은 주문의 재요청이 넘겨받는다
+    // 요청 기한(locksmith.request.timeout)보다 충분히 길어야 진행 중인 게이트웨이 호출과 겹치지 않는다
+    @Value("${locksmith.insert-first.pending-timeout:5m}")
+    private Duration pendingTimeout = Duration.ofMinutes(5);
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Payment processPayment(PaymentCommand command) {
+        log.info("insert-first 결제 처리 시작: orderId={}", command.getOrderId());
+        
+        validatePaymentCommand(command);
+        
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(command.getDeadline())) {
+            RequestDeadline.check();
+            Payment savedPayment = insertPending(command);
+            
+            try {
+                PaymentGatewayResult result = paymentGateway.processPayment(
+                    command.getOrderId(),
+                    command.getAmount(),
+                    command.getPaymentMethod()
+                );
+                
+                if (result.isSuccess()) {
+                    savedPayment.complete();
+                    log.info("결제 성공: orderId={}, transactionId={}", command.getOrderId(), result.getTransactionId());
+                } else {
+                    savedPayment.fail();
+                    log.warn("결제 실패: orderId={}, message={}", command.getOrderId(), result.getMessage());
+                }
+                
+                return transactionTemplate.execute(status -> paymentRepository.save(savedPayment));
+                
+            } catch (RequestDeadlineExceededException e) {
+                // PENDING 행은 이미 커밋되었으므로 롤백 대신 실패로 남긴다
+                markFailed(savedPayment);
+                throw e;
+            } catch (Exception e) {
+                markFailed(savedPayment);
+                log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
+                throw new RuntimeException("결제 처리 중 오류가 발생했습니다.", e);
+            }
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Payment getPayment(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+            .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
+    }
+    
+    // 취소는 이미 있는 행을 바꾸므로 분산락 대신 행 락으로 직렬화한다
+    @Override
+    public Payment cancelPayment(Long paymentId) {
+        log.info("insert-first 결제 취소 처리 시작: paymentId={}", paymentId);
+        
+        Payment payment = paymentRepository.findByIdWithPessimisticLock(paymentId)
+            .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
+        
+        if (!payment.isCompleted()) {
+            throw new IllegalStateException("완료된 결제만 취소할 수 있습니다.");
+        }
+        
+        try {
+            boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+            
+            if (cancelResult) {
+                payment.cancel();
+                log.info("결제 취소 성공: orderId={}", payment.getOrderId());
+            } else {
+                log.warn("결제 취소 실패: orderId={}", payment.getOrderId());
+                throw new RuntimeException("결제 취소에 실패했습니다.");
+            }
+            
+            return paymentRepository.save(payment);
+            
+        } catch (Exception e) {
+            log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
+            throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
+        }
+    }
+    
+    // 중복이면 INSERT가 unique 제약에 걸린다. 제약 위반이 났을 때만 주문 ID로 다시 읽어 원인을 가린다
+    // existsByOrderId는 주문 ID filter를 거치므로 다른 노드가 넣은 주문을 "없다"고 답할 수 있어 쓰지 않는다
+    private Payment insertPending(PaymentCommand command) {
+        Payment payment = Payment.create(
+            command.getUserId(),
+            command.getOrderId(),
+            command.getAmount(),
+            command.getPaymentMethod()
+        );
+        
+        try {
+            return transactionTemplate.execute(status -> paymentRepository.save(payment));
+        } catch (DataIntegrityViolationException e) {
+            Payment existing = paymentRepository.findByOrderId(command.getOrderId()).orElseThrow(() -> e);
+            return takeOverStalePending(existing, command)
+                .orElseThrow(() -> {
+                    log.warn("중복 주문 요청: orderId={}", command.getOrderId());
+                    return new DuplicateOrderException(command.getOrderId());
+                });
+        }
+    }
+    
+    // 같은 명령으로 만든 PENDING 행이 기한을 넘겼으면 조건부 UPDATE로 선점을 넘겨받는다
+    // 앞선 게이트웨이 호출이 승인되었을 수 있으므로 PG사는 같은 주문 ID의 재승인을 중복으로 처리해야 한다
+    // 노드마다 시계가 다를 수 있으므로 기한은 DB 시각으로 재고, 선점과 다시 읽기는 한 트랜잭션에서 해 올라간 버전을 받는다
+    private Optional<Payment> takeOverStalePending(Payment existing, PaymentCommand command) {
+        if (!existing.isPending() || !isSameOrder(existing, command)) {
+            return Optional.empty();
+        }
+        
+        Long paymentId = existing.getId();
+        return transactionTemplate.execute(status -> paymentRepository.findCurrentTimeById(paymentId)
+            .filter(now -> paymentRepository.claimStale(paymentId, PaymentStatus.PENDING, now.minus(pendingTimeout), now) == 1)
+            .flatMap(now -> {
+                log.warn("기한이 지난 PENDING 결제를 넘겨받습니다: orderId={}, paymentId={}", command.getOrderId(), paymentId);
+                return paymentRepository.findById(paymentId);
+            }));
+    }
+    
+    private static boolean isSameOrder(Payment payment, PaymentCommand command) {
+        return payment.getUserId().equals(command.getUserId())
+            && payment.getAmount().equals(command.getAmount())
+            && payment.getPaymentMethod() == command.getPaymentMethod();
+    }
+    
+    // 게이트웨이 결과를 받은 뒤 저장만 실패했다면 이미 완료/실패로 바뀌었으므로 덮어쓰지 않는다
+    // 저장되지 못한 PENDING 행은 pendingTimeout이 지나면 재요청이 넘겨받는다
+    // 정리 중 오류가 원래 예외를 가리지 않도록 여기서 난 예외는 로그만 남긴다
+    private void markFailed(Payment savedPayment) {
+        if (!savedPayment.isPending()) {
+            log.error("결제 결과를 저장하지 못했습니다: orderId={}, status={}", savedPayment.getOrderId(), savedPayment.getStatus());
+            return;
+        }
+        
+        try {
+            savedPayment.fail();
+            transactionTemplate.execute(status -> paymentRepository.save(savedPayment));
+        } catch (RuntimeException e) {
+            log.error("결제 실패 상태를 저장하지 못했습니다: orderId={}", savedPayment.getOrderId(), e);
+        }
+    }
+    
+    private void validatePaymentCommand(PaymentCommand command) {
+        if (command.getUserId() == null) {
+            throw new IllegalArgumentException("사용자 ID는 필수입니다.");
+        }
+        if (command.getOrderId() == null || command.getOrderId().trim().isEmpty()) {
+            throw new IllegalArgumentException("주문 ID는 필수입니다.");
+        }
+        if (command.getAmount() == null || !command.getAmount().isPositive()) {
+            throw new IllegalArgumentException("결제 금액은 양수여야 합니다.");
+        }
+        if (command.getPaymentMethod() == null) {
+            throw new IllegalArgumentException("결제 방법은 필수입니다.");
+        }
+    }
+}
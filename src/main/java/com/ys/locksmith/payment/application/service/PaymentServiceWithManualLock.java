@@ -1,19 +1,32 @@
 package com.ys.locksmith.payment.application.service;
 
 import com.ys.locksmith.common.lock.DistributedLockUtil;
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.common.lock.LockDeadline;
+import com.ys.locksmith.common.lock.OrderIdempotencyGuard;
+import com.ys.locksmith.common.lock.RequestDeadline;
+import com.ys.locksmith.common.lock.SingleFlight;
 import com.ys.locksmith.payment.application.port.in.PaymentCommand;
 import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
 import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
 import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
 import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Money;
 import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 @Primary
@@ -25,53 +38,44 @@ public class PaymentServiceWithManualLock implements PaymentUseCase {
     private final PaymentRepository paymentRepository;
     private final ExternalPaymentGateway paymentGateway;
     private final DistributedLockUtil lockUtil;
+    private final OrderIdempotencyGuard orderGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final SingleFlight<PaymentFlightKey, Payment> paymentFlights = new SingleFlight<>();
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Payment processPayment(PaymentCommand command) {
         validatePaymentCommand(command);
         
-        String lockKey = "payment:order:" + command.getOrderId();
+        // 클라이언트 재시도로 같은 주문이 동시에 들어오면 락/DB 조회 없이 진행 중인 처리 결과를 공유한다
+        // 주문 ID만 같고 사용자나 금액이 다른 요청은 합류하지 않고 주문 예약에서 중복으로 거절된다
+        // 다른 노드와의 중복은 락 획득과 중복 확인을 한 번에 하는 주문 예약으로 막는다
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(command.getDeadline())) {
+            return paymentFlights.execute(PaymentFlightKey.of(command),
+                () -> orderGuard.executeOnceInTransaction(command.getOrderId(), () -> processReservedPayment(command)));
+        }
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<Payment> processPaymentAsync(PaymentCommand command) {
+        validatePaymentCommand(command);
         
-        return lockUtil.executeWithLock(lockKey, () -> {
-            log.info("분산락을 사용한 결제 처리 시작: orderId={}", command.getOrderId());
-            
-            if (paymentRepository.existsByOrderId(command.getOrderId())) {
-                throw new IllegalArgumentException("이미 존재하는 주문 ID입니다: " + command.getOrderId());
-            }
-            
-            Payment payment = Payment.create(
-                command.getUserId(),
-                command.getOrderId(),
-                command.getAmount(),
-                command.getPaymentMethod()
-            );
-            
-            Payment savedPayment = paymentRepository.save(payment);
-            
-            try {
-                PaymentGatewayResult result = paymentGateway.processPayment(
-                    command.getOrderId(),
-                    command.getAmount(),
-                    command.getPaymentMethod()
-                );
-                
-                if (result.isSuccess()) {
-                    savedPayment.complete();
-                    log.info("결제 성공: orderId={}, transactionId={}", command.getOrderId(), result.getTransactionId());
-                } else {
-                    savedPayment.fail();
-                    log.warn("결제 실패: orderId={}, message={}", command.getOrderId(), result.getMessage());
-                }
-                
-                return paymentRepository.save(savedPayment);
-                
-            } catch (Exception e) {
-                savedPayment.fail();
-                paymentRepository.save(savedPayment);
-                log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
-                throw new RuntimeException("결제 처리 중 오류가 발생했습니다.", e);
-            }
-        });
+        // 동기 요청과 같은 주문 예약을 거치므로 두 경로로 들어온 같은 주문도 서로 막힌다
+        // 예약은 기다리지 않고 끝나며, 예약 뒤의 DB/게이트웨이 작업만 executor에서 실행한다
+        // 작업 스레드가 바뀌므로 요청 기한은 명령에서 다시 꺼내 적용한다
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(command.getDeadline())) {
+            return orderGuard.executeOnceAsync(command.getOrderId(), () -> CompletableFuture.supplyAsync(
+                () -> {
+                    try (RequestDeadline.Scope deadline = RequestDeadline.start(command.getDeadline())) {
+                        RequestDeadline.check();
+                        return transactionTemplate.execute(status -> processReservedPayment(command));
+                    }
+                },
+                taskExecutor
+            ));
+        }
     }
     
     @Override
@@ -84,11 +88,15 @@ public class PaymentServiceWithManualLock implements PaymentUseCase {
     
     @Override
     @CacheEvict(value = "payment", key = "#paymentId")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Payment cancelPayment(Long paymentId) {
-        Payment payment = getPayment(paymentId);
-        String lockKey = "payment:cancel:" + payment.getOrderId();
+        String lockKey = "payment:cancel:" + paymentId;
         
-        return lockUtil.executeWithLock(lockKey, () -> {
+        // 락을 잡기 전에 읽은 상태로 판단하면 앞선 취소가 끝난 뒤에도 완료로 보여 PG 취소가 두 번 나간다
+        // 그래서 결제는 락 안에서 캐시를 거치지 않고 다시 읽는다
+        return lockUtil.executeWithLockInTransaction(lockKey, () -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
             log.info("분산락을 사용한 결제 취소 처리 시작: orderId={}", payment.getOrderId());
             
             if (!payment.isCompleted()) {
@@ -97,6 +105,7 @@ public class PaymentServiceWithManualLock implements PaymentUseCase {
             
             try {
                 boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+                LockDeadline.settle();
                 
                 if (cancelResult) {
                     payment.cancel();
@@ -109,12 +118,59 @@ public class PaymentServiceWithManualLock implements PaymentUseCase {
                 return paymentRepository.save(payment);
                 
             } catch (Exception e) {
+                PaymentFailures.rethrowIfAborted(e);
                 log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
                 throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
             }
         });
     }
     
+    // 중복 확인은 호출자가 끝냈으므로 바로 저장한다
+    private Payment processReservedPayment(PaymentCommand command) {
+        log.info("분산락을 사용한 결제 처리 시작: orderId={}", command.getOrderId());
+        
+        Payment payment = Payment.create(
+            command.getUserId(),
+            command.getOrderId(),
+            command.getAmount(),
+            command.getPaymentMethod()
+        );
+        
+        Payment savedPayment;
+        try {
+            savedPayment = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // 예약 보존 기간이 지났거나 다른 경로로 먼저 저장된 주문은 order_id unique 제약에서 걸러진다
+            throw new DuplicateOrderException(command.getOrderId());
+        }
+        
+        try {
+            PaymentGatewayResult result = paymentGateway.processPayment(
+                command.getOrderId(),
+                command.getAmount(),
+                command.getPaymentMethod()
+            );
+            LockDeadline.settle();
+            
+            if (result.isSuccess()) {
+                savedPayment.complete();
+                log.info("결제 성공: orderId={}, transactionId={}", command.getOrderId(), result.getTransactionId());
+            } else {
+                savedPayment.fail();
+                log.warn("결제 실패: orderId={}, message={}", command.getOrderId(), result.getMessage());
+            }
+            
+            return paymentRepository.save(savedPayment);
+            
+        } catch (Exception e) {
+            PaymentFailures.rethrowIfAborted(e);
+            savedPayment.fail();
+            paymentRepository.save(savedPayment);
+            log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
+            throw new RuntimeException("결제 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+    
     private void validatePaymentCommand(PaymentCommand command) {
         if (command.getUserId() == null) {
             throw new IllegalArgumentException("사용자 ID는 필수입니다.");
@@ -129,4 +185,12 @@ public class PaymentServiceWithManualLock implements PaymentUseCase {
             throw new IllegalArgumentException("결제 방법은 필수입니다.");
         }
     }
+    
+    // 요청 기한은 요청마다 다르므로 키에서 뺀다
+    private record PaymentFlightKey(Long userId, String orderId, Money amount, PaymentMethod paymentMethod) {
+        
+        static PaymentFlightKey of(PaymentCommand command) {
+            return new PaymentFlightKey(command.getUserId(), command.getOrderId(), command.getAmount(), command.getPaymentMethod());
+        }
+    }
 }
\ No newline at end of file
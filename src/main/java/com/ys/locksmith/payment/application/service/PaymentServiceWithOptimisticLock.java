@@ -0,0 +1,183 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.common.lock.LockContendedException;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Payment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 락 없이 읽고, 커밋할 때 @Version으로 그사이 다른 트랜잭션이 행을 바꿨는지 확인한다
+// 충돌이 드물면 행 락 대기가 없어 비관적 락보다 빠르고, 충돌하면 full jitter 지수 백오프 후 새 트랜잭션에서 다시 읽는다
+@Service("paymentServiceWithOptimisticLock")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PaymentServiceWithOptimisticLock implements PaymentUseCase {
+    
+    private final PaymentRepository paymentRepository;
+    private final ExternalPaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${locksmith.optimistic.max-attempts:5}")
+    private int maxAttempts = 5;
+    
+    @Value("${locksmith.optimistic.backoff:10ms}")
+    private Duration backoff = Duration.ofMillis(10);
+    
+    @Value("${locksmith.optimistic.max-backoff:200ms}")
+    private Duration maxBackoff = Duration.ofMillis(200);
+    
+    // 새 행을 만드는 경로라 비교할 버전이 없으므로 중복은 order_id unique 제약으로 막는다
+    @Override
+    public Payment processPayment(PaymentCommand command) {
+        log.info("낙관적 락을 사용한 결제 처리 시작: orderId={}", command.getOrderId());
+        
+        validatePaymentCommand(command);
+        
+        if (paymentRepository.existsByOrderId(command.getOrderId())) {
+            throw new IllegalArgumentException("이미 존재하는 주문 ID입니다: " + command.getOrderId());
+        }
+        
+        Payment payment = Payment.create(
+            command.getUserId(),
+            command.getOrderId(),
+            command.getAmount(),
+            command.getPaymentMethod()
+        );
+        
+        Payment savedPayment;
+        try {
+            savedPayment = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // exists 확인과 INSERT 사이에 같은 주문이 먼저 저장된 경우
+            throw new DuplicateOrderException(command.getOrderId());
+        }
+        
+        try {
+            PaymentGatewayResult result = paymentGateway.processPayment(
+                command.getOrderId(),
+                command.getAmount(),
+                command.getPaymentMethod()
+            );
+            
+            if (result.isSuccess()) {
+                savedPayment.complete();
+                log.info("결제 성공: orderId={}, transactionId={}", command.getOrderId(), result.getTransactionId());
+            } else {
+                savedPayment.fail();
+                log.warn("결제 실패: orderId={}, message={}", command.getOrderId(), result.getMessage());
+            }
+            
+            return paymentRepository.save(savedPayment);
+            
+        } catch (Exception e) {
+            savedPayment.fail();
+            paymentRepository.save(savedPayment);
+            log.error("결제 처리 중 오류 발생: orderId={}", command.getOrderId(), e);
+            throw new RuntimeException("결제 처리 중 오류가 발생했습니다.", e);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Payment getPayment(Long paymentId) {
+        return paymentRepository.findById(paymentId)
+            .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
+    }
+    
+    // 시도마다 새 트랜잭션에서 다시 읽어야 하므로 호출자의 트랜잭션에 참여하지 않는다
+    // 먼저 커밋한 요청이 취소를 끝냈다면 다시 읽은 상태가 CANCELLED이므로 재시도는 게이트웨이를 부르지 않고 거절된다
+    // 다만 동시에 진행 중인 시도끼리는 둘 다 게이트웨이를 부를 수 있으므로, PG 취소가 주문 ID 기준으로 멱등이라고 가정한다
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Payment cancelPayment(Long paymentId) {
+        log.info("낙관적 락을 사용한 결제 취소 처리 시작: paymentId={}", paymentId);
+        
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> cancelOnce(paymentId));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt + 1 >= maxAttempts) {
+                    log.warn("결제 취소 충돌 재시도 한도 초과: paymentId={}, attempts={}", paymentId, attempt + 1);
+                    throw new LockContendedException("payment:cancel:" + paymentId, -1);
+                }
+                log.debug("결제 취소 충돌, 다시 시도합니다: paymentId={}, attempt={}", paymentId, attempt + 1);
+                sleep(backoffNanos(attempt));
+            }
+        }
+    }
+    
+    private Payment cancelOnce(Long paymentId) {
+        Payment payment = paymentRepository.findById(paymentId)
+            .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다: " + paymentId));
+        
+        if (!payment.isCompleted()) {
+            throw new IllegalStateException("완료된 결제만 취소할 수 있습니다.");
+        }
+        
+        try {
+            boolean cancelResult = paymentGateway.cancelPayment(payment.getOrderId());
+            
+            if (cancelResult) {
+                payment.cancel();
+                log.info("결제 취소 성공: orderId={}", payment.getOrderId());
+            } else {
+                log.warn("결제 취소 실패: orderId={}", payment.getOrderId());
+                throw new RuntimeException("결제 취소에 실패했습니다.");
+            }
+            
+            // 버전 비교는 커밋 시점의 UPDATE ... WHERE version = ?에서 일어난다
+            return paymentRepository.save(payment);
+            
+        } catch (Exception e) {
+            log.error("결제 취소 중 오류 발생: orderId={}", payment.getOrderId(), e);
+            throw new RuntimeException("결제 취소 중 오류가 발생했습니다.", e);
+        }
+    }
+    
+    // 충돌한 요청들이 같은 간격으로 다시 부딪히지 않도록 0 ~ min(backoff * 2^attempt, maxBackoff) 사이에서 고른다
+    private long backoffNanos(int attempt) {
+        long bound = Math.min(backoff.toNanos() << Math.min(attempt, 20), maxBackoff.toNanos());
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+    
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("결제 취소 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+    
+    private void validatePaymentCommand(PaymentCommand command) {
+        if (command.getUserId() == null) {
+            throw new IllegalArgumentException("사용자 ID는 필수입니다.");
+        }
+        if (command.getOrderId() == null || command.getOrderId().trim().isEmpty()) {
+            throw new IllegalArgumentException("주문 ID는 필수입니다.");
+        }
+        if (command.getAmount() == null || !command.getAmount().isPositive()) {
+            throw new IllegalArgumentException("결제 금액은 양수여야 합니다.");
+        }
+        if (command.getPaymentMethod() == null) {
+            throw new IllegalArgumentException("결제 방법은 필수입니다.");
+        }
+    }
+}
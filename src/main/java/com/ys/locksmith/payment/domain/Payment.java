@@ -41,6 +41,11 @@ public class Payment {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // 갱신마다 1씩 오르며, 읽은 뒤 다른 트랜잭션이 먼저 갱신했다면 커밋 시 OptimisticLockException이 난다
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     public static Payment create(Long userId, String orderId, Money amount, PaymentMethod paymentMethod) {
         return new Payment(
             null,
@@ -50,7 +55,8 @@ public class Payment {
             paymentMethod,
             PaymentStatus.PENDING,
             LocalDateTime.now(),
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            null
         );
     }
     
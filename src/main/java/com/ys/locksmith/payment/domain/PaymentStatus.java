@@ -4,6 +4,8 @@ public enum PaymentStatus {
     PENDING("대기"),
     COMPLETED("완료"),
     FAILED("실패"),
+    // 조건부 UPDATE 전략이 환불을 요청하는 동안 취소를 선점해 두는 상태
+    CANCELLING("취소 중"),
     CANCELLED("취소");
     
     private final String description;
@@ -1,13 +1,39 @@
 package com.ys.locksmith;
 
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
 class LocksmithApplicationTests {
 
-	@Test
-	void contextLoads() {
+	@Nested
+	@SpringBootTest
+	@ActiveProfiles("test")
+	class TestProfile {
+
+		@Test
+		void contextLoads() {
+		}
 	}
 
+	// 프로필 없이 application.yml만 읽어도 redis 이외의 프로바이더면 Redisson 없이 기동되어야 한다
+	@Nested
+	@SpringBootTest(properties = "locksmith.lock.provider=memory")
+	class DefaultProfile {
+
+		@Autowired
+		private ApplicationContext context;
+
+		@Test
+		void contextLoadsWithoutRedisson() {
+			assertThat(context.getBeanProvider(RedissonClient.class).getIfAvailable()).isNull();
+		}
+	}
+    
 }
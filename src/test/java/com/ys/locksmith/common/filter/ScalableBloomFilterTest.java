@@ -0,0 +1,71 @@
+package com.ys.locksmith.common.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("확장형 Bloom filter 테스트")
+class ScalableBloomFilterTest {
+    
+    @Test
+    @DisplayName("초기 용량을 넘겨 층이 늘어나도 추가한 값은 항상 있을 수 있다고 답한다")
+    void noFalseNegativesAfterGrowth() {
+        // given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("ORDER-" + i);
+        }
+        
+        // then
+        assertThat(filter.layerCount()).isGreaterThan(1);
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("ORDER-" + i)).isTrue();
+        }
+    }
+    
+    @Test
+    @DisplayName("층이 늘어나도 추가하지 않은 값의 오탐률은 목표 오탐률 안에 머문다")
+    void falsePositiveRateStaysBounded() {
+        // given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("ORDER-" + i);
+        }
+        
+        // when
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("NEW-ORDER-" + i)) {
+                falsePositives++;
+            }
+        }
+        
+        // then
+        assertThat((double) falsePositives / probes).isLessThan(0.015);
+    }
+    
+    @Test
+    @DisplayName("이미 있다고 판단되는 값은 다시 추가하지 않는다")
+    void putReturnsFalseForKnownValue() {
+        // given
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        
+        // when & then
+        assertThat(filter.put("ORDER-001")).isTrue();
+        assertThat(filter.put("ORDER-001")).isFalse();
+        assertThat(filter.approximateSize()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("용량과 오탐률이 범위를 벗어나면 생성할 수 없다")
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(100, 1.0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("적응형 lease 테스트")
+class AdaptiveLeaseTest {
+    
+    private final AdaptiveLease adaptiveLease = new AdaptiveLease(0.99, 3.0, 500);
+    
+    @AfterEach
+    void tearDown() {
+        adaptiveLease.shutdown();
+    }
+    
+    @Test
+    @DisplayName("표본이 부족하면 지정한 leaseTime을 그대로 사용한다")
+    void fallsBackWithoutEnoughSamples() {
+        // given
+        for (int i = 0; i < 19; i++) {
+            adaptiveLease.record("payment:order", TimeUnit.MILLISECONDS.toNanos(150));
+        }
+        
+        // when & then
+        assertThat(adaptiveLease.leaseMillis("payment:order", 30_000)).isEqualTo(30_000);
+        assertThat(adaptiveLease.leaseMillis("payment:cancel", 30_000)).isEqualTo(30_000);
+    }
+    
+    @Test
+    @DisplayName("상위 백분위 실행 시간에 안전 계수를 곱하고 최소값과 상한 사이로 맞춘다")
+    void estimatesFromPercentile() {
+        // given
+        for (int i = 0; i < 20; i++) {
+            adaptiveLease.record("payment:order", TimeUnit.MILLISECONDS.toNanos(150));
+            adaptiveLease.record("payment:cancel", TimeUnit.MILLISECONDS.toNanos(400));
+        }
+        
+        // when & then
+        assertThat(adaptiveLease.leaseMillis("payment:order", 30_000)).isEqualTo(500);
+        assertThat(adaptiveLease.leaseMillis("payment:cancel", 30_000)).isEqualTo(1_200);
+        assertThat(adaptiveLease.leaseMillis("payment:cancel", 1_000)).isEqualTo(1_000);
+    }
+    
+    @Test
+    @DisplayName("leaseTime이 음수(watchdog)면 추정값을 적용하지 않는다")
+    void keepsWatchdogLease() {
+        // given
+        for (int i = 0; i < 20; i++) {
+            adaptiveLease.record("payment:order", TimeUnit.MILLISECONDS.toNanos(150));
+        }
+        
+        // when & then
+        assertThat(adaptiveLease.leaseMillis("payment:order", -1)).isEqualTo(-1);
+    }
+    
+    @Test
+    @DisplayName("lease를 넘겨 실행되는 동안 같은 소유자로 재진입해 만료 시각을 늦춘다")
+    void keepAliveRenewsLease() {
+        // given
+        LockHandle lock = mock(LockHandle.class);
+        given(lock.tryLockAsync(eq(0L), eq(60L), eq(TimeUnit.MILLISECONDS), eq(7L)))
+            .willReturn(CompletableFuture.completedFuture(true));
+        given(lock.unlockAsync(7L)).willReturn(CompletableFuture.completedFuture(null));
+        
+        // when
+        ScheduledFuture<?> renewal = adaptiveLease.keepAlive(lock, "payment:order:ORDER-001", 7L, 60);
+        
+        // then
+        verify(lock, timeout(1_000).atLeast(2)).tryLockAsync(0L, 60L, TimeUnit.MILLISECONDS, 7L);
+        verify(lock, timeout(1_000).atLeast(2)).unlockAsync(7L);
+        renewal.cancel(false);
+        assertThat(renewal.isCancelled()).isTrue();
+    }
+}
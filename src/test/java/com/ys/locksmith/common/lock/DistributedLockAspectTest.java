@@ -10,12 +10,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -118,6 +122,42 @@ class DistributedLockAspectTest {
         );
     }
     
+    @Test
+    @DisplayName("같은 메서드의 락 키 표현식은 한 번만 준비한다")
+    void cacheLockKeyResolverPerMethod() throws Throwable {
+        // given
+        given(distributedLock.key()).willReturn("'order:' + #orderId");
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(method);
+        given(methodSignature.getParameterNames()).willReturn(new String[]{"orderId"});
+        given(joinPoint.getArgs()).willReturn(new Object[]{"ORDER-001"}, new Object[]{"ORDER-002"});
+        
+        // when
+        aspect.executeWithLock(joinPoint, distributedLock);
+        aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        verify(methodSignature, times(1)).getParameterNames();
+        verify(lockUtil).executeWithLock(
+            org.mockito.ArgumentMatchers.eq("order:ORDER-001"),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        );
+        verify(lockUtil).executeWithLock(
+            org.mockito.ArgumentMatchers.eq("order:ORDER-002"),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        );
+    }
+    
     @Test
     @DisplayName("예외가 발생해도 적절히 처리된다")
     void executeWithException() throws Throwable {
@@ -141,4 +181,290 @@ class DistributedLockAspectTest {
         assertThatThrownBy(() -> aspect.executeWithLock(joinPoint, distributedLock))
             .isEqualTo(testException);
     }
+    
+    @Test
+    @DisplayName("transactional 설정 시 락을 획득한 뒤 트랜잭션을 시작하도록 위임한다")
+    void executeWithLockInTransaction() throws Throwable {
+        // given
+        String lockKey = "tx-lock";
+        
+        given(distributedLock.key()).willReturn(lockKey);
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(distributedLock.transactional()).willReturn(true);
+        given(lockUtil.executeWithLockInTransaction(
+            org.mockito.ArgumentMatchers.eq(lockKey),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(lockUtil, never()).executeWithLock(
+            org.mockito.ArgumentMatchers.anyString(),
+            org.mockito.ArgumentMatchers.anyLong(),
+            org.mockito.ArgumentMatchers.anyLong(),
+            org.mockito.ArgumentMatchers.any(TimeUnit.class),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        );
+    }
+    
+    @Test
+    @DisplayName("keys에 지정한 고정 키와 컬렉션 SpEL 키를 모아 다중 락으로 위임한다")
+    void executeWithMultipleLockKeys() throws Throwable {
+        // given
+        given(distributedLock.key()).willReturn("");
+        given(distributedLock.keys()).willReturn(new String[]{"payment:bulk", "#paymentIds.!['payment:cancel:' + #this]"});
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(method);
+        given(methodSignature.getParameterNames()).willReturn(new String[]{"paymentIds"});
+        given(joinPoint.getArgs()).willReturn(new Object[]{List.of(2L, 1L)});
+        
+        given(lockUtil.executeWithMultiLock(
+            org.mockito.ArgumentMatchers.eq(List.of("payment:bulk", "payment:cancel:2", "payment:cancel:1")),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+    }
+    
+    @Test
+    @DisplayName("key와 keys가 모두 비어 있으면 예외가 발생한다")
+    void executeWithoutLockKey() {
+        // given
+        given(distributedLock.key()).willReturn("");
+        given(distributedLock.keys()).willReturn(new String[0]);
+        
+        // when & then
+        assertThatThrownBy(() -> aspect.executeWithLock(joinPoint, distributedLock))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("key 또는 keys가 필요합니다");
+    }
+    
+    @Test
+    @DisplayName("READ 모드는 읽기 락으로 위임한다")
+    void executeWithReadMode() throws Throwable {
+        // given
+        String lockKey = "payment:1";
+        
+        given(distributedLock.key()).willReturn(lockKey);
+        given(distributedLock.mode()).willReturn(LockMode.READ);
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq(lockKey),
+            org.mockito.ArgumentMatchers.eq(LockMode.READ),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+    }
+    
+    @Test
+    @DisplayName("대기 방식을 지정하면 해당 대기 방식으로 위임한다")
+    void executeWithWaitStrategy() throws Throwable {
+        // given
+        String lockKey = "payment:order:HOT";
+        
+        given(distributedLock.key()).willReturn(lockKey);
+        given(distributedLock.waitStrategy()).willReturn(WaitStrategy.SPIN);
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq(lockKey),
+            org.mockito.ArgumentMatchers.eq(WaitStrategy.SPIN),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+    }
+    
+    @Test
+    @DisplayName("PRIORITY 대기 방식은 지정한 우선순위로 위임한다")
+    void executeWithPriority() throws Throwable {
+        // given
+        String lockKey = "payment:gateway:HOT";
+        
+        given(distributedLock.key()).willReturn(lockKey);
+        given(distributedLock.waitStrategy()).willReturn(WaitStrategy.PRIORITY);
+        given(distributedLock.priority()).willReturn(LockPriority.HIGH);
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq(lockKey),
+            org.mockito.ArgumentMatchers.eq(LockPriority.HIGH),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+    }
+    
+    @Test
+    @DisplayName("읽기/쓰기 락에는 대기 방식을 지정할 수 없다")
+    void rejectWaitStrategyWithReadWriteLock() {
+        // given
+        given(distributedLock.key()).willReturn("payment:1");
+        given(distributedLock.mode()).willReturn(LockMode.READ);
+        given(distributedLock.waitStrategy()).willReturn(WaitStrategy.FAIR);
+        
+        // when & then
+        assertThatThrownBy(() -> aspect.executeWithLock(joinPoint, distributedLock))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("단독 락에서만");
+    }
+    
+    @Test
+    @DisplayName("같은 키를 이미 보유한 중첩 호출은 락을 다시 획득하지 않는다")
+    void nestedCallWithHeldKeySkipsLock() throws Throwable {
+        // given
+        DistributedLock innerLock = mock(DistributedLock.class);
+        ProceedingJoinPoint innerJoinPoint = mock(ProceedingJoinPoint.class);
+        given(innerLock.key()).willReturn("payment:1");
+        given(innerLock.mode()).willReturn(LockMode.READ);
+        given(innerJoinPoint.proceed()).willReturn("payment");
+        
+        given(distributedLock.key()).willReturn("payment:1");
+        given(distributedLock.mode()).willReturn(LockMode.WRITE);
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(joinPoint.proceed()).willAnswer(invocation -> aspect.executeWithLock(innerJoinPoint, innerLock));
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq("payment:1"),
+            org.mockito.ArgumentMatchers.eq(LockMode.WRITE),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willAnswer(invocation -> invocation.<Supplier<Object>>getArgument(5).get());
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("payment");
+        verify(lockUtil, times(1)).executeWithLock(
+            org.mockito.ArgumentMatchers.anyString(),
+            org.mockito.ArgumentMatchers.any(LockMode.class),
+            org.mockito.ArgumentMatchers.anyLong(),
+            org.mockito.ArgumentMatchers.anyLong(),
+            org.mockito.ArgumentMatchers.any(TimeUnit.class),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        );
+    }
+    
+    @Test
+    @DisplayName("보유 범위를 벗어난 뒤의 호출은 다시 락을 획득한다")
+    void heldKeyIsReleasedAfterScope() throws Throwable {
+        // given
+        given(distributedLock.key()).willReturn("payment:1");
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(joinPoint.proceed()).willReturn("success");
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq("payment:1"),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willAnswer(invocation -> invocation.<Supplier<Object>>getArgument(4).get());
+        
+        // when
+        aspect.executeWithLock(joinPoint, distributedLock);
+        aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        verify(lockUtil, times(2)).executeWithLock(
+            org.mockito.ArgumentMatchers.eq("payment:1"),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        );
+        assertThat(HeldLockKeys.covers("payment:1", LockMode.EXCLUSIVE)).isFalse();
+    }
+    
+    @Test
+    @DisplayName("다중 락은 이미 보유한 키를 빼고 나머지만 잠근다")
+    void multiLockSkipsHeldKeys() throws Throwable {
+        // given
+        DistributedLock innerLock = mock(DistributedLock.class);
+        ProceedingJoinPoint innerJoinPoint = mock(ProceedingJoinPoint.class);
+        given(innerLock.key()).willReturn("");
+        given(innerLock.keys()).willReturn(new String[]{"payment:cancel:1", "payment:cancel:2"});
+        given(innerLock.waitTime()).willReturn(10L);
+        given(innerLock.leaseTime()).willReturn(30L);
+        given(innerLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(innerJoinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getMethod()).willReturn(method);
+        given(innerJoinPoint.getArgs()).willReturn(new Object[0]);
+        given(lockUtil.executeWithMultiLock(
+            org.mockito.ArgumentMatchers.eq(List.of("payment:cancel:2")),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willReturn("success");
+        
+        given(distributedLock.key()).willReturn("payment:cancel:1");
+        given(distributedLock.waitTime()).willReturn(10L);
+        given(distributedLock.leaseTime()).willReturn(30L);
+        given(distributedLock.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(joinPoint.proceed()).willAnswer(invocation -> aspect.executeWithLock(innerJoinPoint, innerLock));
+        given(lockUtil.executeWithLock(
+            org.mockito.ArgumentMatchers.eq("payment:cancel:1"),
+            org.mockito.ArgumentMatchers.eq(10L),
+            org.mockito.ArgumentMatchers.eq(30L),
+            org.mockito.ArgumentMatchers.eq(TimeUnit.SECONDS),
+            org.mockito.ArgumentMatchers.<Supplier<Object>>any()
+        )).willAnswer(invocation -> invocation.<Supplier<Object>>getArgument(4).get());
+        
+        // when
+        Object result = aspect.executeWithLock(joinPoint, distributedLock);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+    }
 }
\ No newline at end of file
@@ -1,21 +1,43 @@
 package com.ys.locksmith.common.lock;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("분산락 유틸리티 테스트")
@@ -27,11 +49,17 @@ class DistributedLockUtilTest {
     @Mock
     private RLock rLock;
     
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
     private DistributedLockUtil lockUtil;
     
     @BeforeEach
     void setUp() {
-        lockUtil = new DistributedLockUtil(redissonClient);
+        meterRegistry = new SimpleMeterRegistry();
+        lockUtil = new DistributedLockUtil(new RedissonLockProvider(redissonClient), transactionTemplate, new LockMetrics(meterRegistry));
     }
     
     @Test
@@ -69,6 +97,218 @@ class DistributedLockUtilTest {
             .hasMessageContaining("락을 획득할 수 없습니다");
     }
     
+    @Test
+    @DisplayName("요청 기한이 대기 시간보다 짧으면 남은 시간만큼만 락을 기다린다")
+    void executeWithLockClampsWaitToRequestDeadline() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(Instant.now().plusMillis(200))) {
+            lockUtil.executeWithLock(lockKey, () -> "test");
+        }
+        
+        // then
+        verify(rLock).tryLock(longThat(waitMillis -> waitMillis <= 200), eq(30_000L), eq(TimeUnit.MILLISECONDS));
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("요청 기한이 지났으면 락을 시도하지 않고 바로 실패한다")
+    void executeWithLockDropsExpiredRequest() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        // when & then
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(Instant.now().minusMillis(1))) {
+            assertThatThrownBy(() -> lockUtil.executeWithLock(lockKey, () -> "test"))
+                .isInstanceOf(RequestDeadlineExceededException.class);
+        }
+        verify(rLock, never()).tryLock(anyLong(), anyLong(), any(TimeUnit.class));
+        assertThat(RequestDeadline.remainingNanos()).isEqualTo(Long.MAX_VALUE);
+    }
+    
+    @Test
+    @DisplayName("fail-fast 모드는 기다리지 않고 현재 보유자의 남은 lease를 담아 실패한다")
+    void executeWithLockOrFailReportsRemainingLease() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(0, 30, TimeUnit.SECONDS)).willReturn(false);
+        given(rLock.remainTimeToLive()).willReturn(4_200L);
+        
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithLockOrFail(lockKey, () -> "test"))
+            .isInstanceOfSatisfying(LockContendedException.class, e -> {
+                assertThat(e.getLockKey()).isEqualTo(lockKey);
+                assertThat(e.getRetryAfterMillis()).isEqualTo(4_200L);
+            });
+    }
+    
+    @Test
+    @DisplayName("락 대기 시간과 보유 시간을 key prefix와 strategy 태그로 기록한다")
+    void executeWithLockRecordsMetrics() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        try (LockMetrics.StrategyScope ignored = LockMetrics.withStrategy("aop")) {
+            lockUtil.executeWithLock(lockKey, () -> "success");
+        }
+        
+        // then
+        assertThat(meterRegistry.get("locksmith.lock.wait")
+            .tags("prefix", "payment:order", "strategy", "aop", "outcome", "acquired")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("locksmith.lock.hold")
+            .tags("prefix", "payment:order", "strategy", "aop")
+            .timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("락 획득에 실패하면 timeout 결과와 실패 횟수를 기록한다")
+    void executeWithLockFailureRecordsMetrics() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(false);
+        
+        // when
+        assertThatThrownBy(() -> lockUtil.executeWithLock(lockKey, () -> "test"))
+            .isInstanceOf(IllegalStateException.class);
+        
+        // then
+        assertThat(meterRegistry.get("locksmith.lock.wait")
+            .tags("prefix", "payment:order", "strategy", "manual", "outcome", "timeout")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("locksmith.lock.failures")
+            .tag("reason", "timeout")
+            .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("locksmith.lock.hold").timer()).isNull();
+    }
+    
+    @Test
+    @DisplayName("보호되는 코드는 락 안에서 남은 lease를 기한으로 확인할 수 있다")
+    void exposesRemainingLeaseAsDeadline() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        long remainingMillis = lockUtil.executeWithLock(lockKey, 1, 1, TimeUnit.SECONDS, LockDeadline::remainingMillis);
+        
+        // then - lease의 10%는 여유로 남긴다
+        assertThat(remainingMillis).isBetween(1L, 900L);
+        assertThat(LockDeadline.remainingMillis()).isEqualTo(Long.MAX_VALUE);
+    }
+    
+    @Test
+    @DisplayName("작업이 lease를 넘기면 일반 예외가 아닌 lease 만료 예외로 알리고 락을 해제한다")
+    void executeWithLockLeaseExpired() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithLock(lockKey, 1, 50, TimeUnit.MILLISECONDS, () -> {
+            sleepQuietly(60);
+            return "late";
+        }))
+            .isInstanceOf(LockLeaseExpiredException.class)
+            .hasMessageContaining(lockKey);
+        
+        verify(rLock).unlock();
+        assertThat(meterRegistry.get("locksmith.lock.failures")
+            .tags("prefix", "payment:order", "reason", "lease_expired")
+            .counter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("외부 호출 결과를 확정한 작업은 lease를 넘겨도 롤백하지 않고 결과를 돌려준다")
+    void executeWithLockSettledAfterLease() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithLock(lockKey, 1, 50, TimeUnit.MILLISECONDS, () -> {
+            sleepQuietly(60);
+            LockDeadline.settle();
+            return "charged";
+        });
+        
+        // then
+        assertThat(result).isEqualTo("charged");
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("FAIR 대기 방식은 공정 락으로 획득한다")
+    void executeWithFairWaitStrategy() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:HOT";
+        
+        given(redissonClient.getFairLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithLock(lockKey, WaitStrategy.FAIR, 10, 30, TimeUnit.SECONDS, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(rLock).tryLock(10, 30, TimeUnit.SECONDS);
+        verify(rLock).unlock();
+        verify(redissonClient, never()).getLock(lockKey);
+    }
+    
+    @Test
+    @DisplayName("SPIN 대기 방식은 대기 없이 재시도하다가 획득한다")
+    void executeWithSpinWaitStrategy() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:HOT";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(0, 30, TimeUnit.SECONDS)).willReturn(false, false, true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithLock(lockKey, WaitStrategy.SPIN, 10, 30, TimeUnit.SECONDS, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(rLock, times(3)).tryLock(0, 30, TimeUnit.SECONDS);
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("우선순위 없이 PRIORITY 대기 방식을 지정하면 NORMAL로 가정하지 않고 거절한다")
+    void rejectsPriorityWaitStrategyWithoutPriority() {
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithLock("payment:order:HOT", WaitStrategy.PRIORITY, 10, 30, TimeUnit.SECONDS, () -> "success"))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(redissonClient);
+    }
+    
     @Test
     @DisplayName("작업 수행 중 예외가 발생해도 락이 해제된다")
     void executeWithLockExceptionHandling() throws InterruptedException {
@@ -142,4 +382,443 @@ class DistributedLockUtilTest {
         verify(rLock).tryLock(5, 15, TimeUnit.SECONDS);
         verify(rLock).unlock();
     }
+    
+    @Test
+    @DisplayName("2단계 락은 로컬 락을 먼저 잡은 뒤 남은 대기 시간으로 Redis 락을 시도한다")
+    void executeWithTwoTierLock() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithTwoTierLock(lockKey, 5, 15, TimeUnit.SECONDS, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(rLock).tryLock(longThat(wait -> wait > 4000 && wait <= 5000), eq(15000L), eq(TimeUnit.MILLISECONDS));
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("같은 노드에서 로컬 락을 얻지 못하면 Redis를 호출하지 않는다")
+    void executeWithTwoTierLockLocalContention() throws Exception {
+        // given
+        String lockKey = "test-lock";
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        Thread holder = new Thread(() -> lockUtil.executeWithTwoTierLock(lockKey, () -> {
+            holding.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        holder.start();
+        holding.await();
+        
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithTwoTierLock(lockKey, 50, 1000, TimeUnit.MILLISECONDS, () -> "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("락을 획득할 수 없습니다");
+        
+        release.countDown();
+        holder.join();
+        verify(redissonClient, times(1)).getLock(lockKey);
+    }
+    
+    @Test
+    @DisplayName("락을 먼저 획득한 뒤 트랜잭션 안에서 작업을 수행한다")
+    void executeWithLockInTransaction() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        List<String> events = new ArrayList<>();
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willAnswer(invocation -> {
+            events.add("lock");
+            return true;
+        });
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            events.add("begin");
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            Object result = callback.doInTransaction(null);
+            events.add("commit");
+            return result;
+        });
+        
+        // when
+        String result = lockUtil.executeWithLockInTransaction(lockKey, () -> {
+            events.add("work");
+            return "success";
+        });
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        assertThat(events).containsExactly("lock", "begin", "work", "commit");
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("락 획득에 실패하면 트랜잭션을 시작하지 않는다")
+    void executeWithLockInTransactionFailure() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(false);
+        
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithLockInTransaction(lockKey, () -> "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("락을 획득할 수 없습니다");
+        
+        verify(transactionTemplate, never()).execute(any());
+    }
+    
+    @Test
+    @DisplayName("트랜잭션 안에서는 트랜잭션이 완료된 뒤에 락을 해제한다")
+    void releaseLockAfterTransactionCompletion() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            lockUtil.executeWithLock(lockKey, () -> "success");
+            
+            // then
+            verify(rLock, never()).unlock();
+            
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            verify(rLock).unlock();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    @DisplayName("트랜잭션이 롤백되어도 락이 해제된다")
+    void releaseLockAfterTransactionRollback() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            assertThatThrownBy(() -> lockUtil.executeWithLock(lockKey, () -> {
+                throw new IllegalArgumentException("rollback");
+            })).isInstanceOf(IllegalArgumentException.class);
+            
+            // then
+            verify(rLock, never()).unlock();
+            
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            verify(rLock).unlock();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    @DisplayName("비동기로 락을 획득하고 작업 완료 후 같은 소유자 ID로 해제한다")
+    void executeWithLockAsync() {
+        // given
+        String lockKey = "test-lock";
+        CompletableFuture<String> work = new CompletableFuture<>();
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willReturn(new CompletableFutureWrapper<>(true));
+        given(rLock.unlockAsync(anyLong())).willReturn(new CompletableFutureWrapper<>((Void) null));
+        
+        // when
+        CompletableFuture<String> result = lockUtil.executeWithLockAsync(lockKey, () -> work);
+        
+        // then
+        assertThat(result).isNotDone();
+        verify(rLock, never()).unlockAsync(anyLong());
+        
+        work.complete("success");
+        
+        assertThat(result).isCompletedWithValue("success");
+        ArgumentCaptor<Long> lockOwner = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> unlockOwner = ArgumentCaptor.forClass(Long.class);
+        verify(rLock).tryLockAsync(eq(10L), eq(30L), eq(TimeUnit.SECONDS), lockOwner.capture());
+        verify(rLock).unlockAsync(unlockOwner.capture());
+        assertThat(unlockOwner.getValue()).isEqualTo(lockOwner.getValue()).isNegative();
+    }
+    
+    @Test
+    @DisplayName("비동기 락 획득에 실패하면 실패한 future를 반환한다")
+    void executeWithLockAsyncFailure() {
+        // given
+        String lockKey = "test-lock";
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willReturn(new CompletableFutureWrapper<>(false));
+        
+        // when
+        CompletableFuture<String> result = lockUtil.executeWithLockAsync(lockKey, () -> CompletableFuture.completedFuture("test"));
+        
+        // then
+        assertThat(result).failsWithin(Duration.ofSeconds(1))
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(IllegalStateException.class)
+            .withMessageContaining("락을 획득할 수 없습니다");
+        verify(rLock, never()).unlockAsync(anyLong());
+    }
+    
+    @Test
+    @DisplayName("비동기 작업이 실패해도 락이 해제된다")
+    void executeWithLockAsyncExceptionHandling() {
+        // given
+        String lockKey = "test-lock";
+        RuntimeException testException = new RuntimeException("test exception");
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willReturn(new CompletableFutureWrapper<>(true));
+        given(rLock.unlockAsync(anyLong())).willReturn(new CompletableFutureWrapper<>((Void) null));
+        
+        // when
+        CompletableFuture<String> result = lockUtil.executeWithLockAsync(lockKey, () -> CompletableFuture.failedFuture(testException));
+        
+        // then
+        assertThat(result).failsWithin(Duration.ofSeconds(1))
+            .withThrowableOfType(ExecutionException.class)
+            .withCause(testException);
+        verify(rLock).unlockAsync(anyLong());
+    }
+    
+    @Test
+    @DisplayName("토큰 소유 모드에서는 스레드 ID 대신 발급한 토큰으로 락을 획득하고 해제한다")
+    void executeWithTokenOwnership() throws InterruptedException {
+        // given
+        String lockKey = "test-lock";
+        ReflectionTestUtils.setField(lockUtil, "ownership", LockOwnership.TOKEN);
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willReturn(new CompletableFutureWrapper<>(true));
+        given(rLock.unlockAsync(anyLong())).willReturn(new CompletableFutureWrapper<>((Void) null));
+        
+        // when
+        String result = lockUtil.executeWithLock(lockKey, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        ArgumentCaptor<Long> lockOwner = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> unlockOwner = ArgumentCaptor.forClass(Long.class);
+        verify(rLock).tryLockAsync(eq(10L), eq(30L), eq(TimeUnit.SECONDS), lockOwner.capture());
+        verify(rLock).unlockAsync(unlockOwner.capture());
+        assertThat(unlockOwner.getValue()).isEqualTo(lockOwner.getValue());
+        verify(rLock, never()).tryLock(anyLong(), anyLong(), any(TimeUnit.class));
+        verify(rLock, never()).isHeldByCurrentThread();
+    }
+    
+    @Test
+    @DisplayName("토큰 소유 모드에서도 같은 흐름이 같은 키를 다시 잠그면 재진입하고, 바깥 호출이 끝나면 락이 풀린다")
+    void executeWithTokenOwnershipReentrant() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+        DistributedLockUtil tokenLockUtil = new DistributedLockUtil(lockProvider, transactionTemplate, new LockMetrics(meterRegistry));
+        ReflectionTestUtils.setField(tokenLockUtil, "ownership", LockOwnership.TOKEN);
+        
+        // when
+        String result = tokenLockUtil.executeWithLock(lockKey, 0, 30, TimeUnit.SECONDS,
+            () -> tokenLockUtil.executeWithLock(lockKey, 0, 30, TimeUnit.SECONDS, () -> "nested"));
+        
+        // then
+        assertThat(result).isEqualTo("nested");
+        LockHandle lock = lockProvider.getLock(lockKey);
+        assertThat(lock.tryLock(0, 30, TimeUnit.SECONDS)).isTrue();
+        lock.unlock();
+    }
+    
+    @Test
+    @DisplayName("적응형 lease 모드에서 실행 이력이 없으면 지정한 leaseTime을 상한 그대로 사용한다")
+    void executeWithAdaptiveLeaseWithoutHistory() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        ReflectionTestUtils.setField(lockUtil, "leaseStrategy", LeaseStrategy.ADAPTIVE);
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        lockUtil.executeWithLock(lockKey, () -> "success");
+        
+        // then
+        verify(rLock).tryLock(10_000, 30_000, TimeUnit.MILLISECONDS);
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("적응형 lease 모드에서는 같은 prefix의 실행 시간이 쌓이면 lease를 줄인다")
+    void executeWithAdaptiveLeaseShrinksLease() throws InterruptedException {
+        // given
+        String lockKey = "payment:order:ORDER-001";
+        ReflectionTestUtils.setField(lockUtil, "leaseStrategy", LeaseStrategy.ADAPTIVE);
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        for (int i = 0; i < 21; i++) {
+            lockUtil.executeWithLock(lockKey, () -> "success");
+        }
+        
+        // then - 짧은 임계 구역은 최소 lease(500ms)로 잡힌다
+        verify(rLock, times(20)).tryLock(10_000, 30_000, TimeUnit.MILLISECONDS);
+        verify(rLock).tryLock(10_000, 500, TimeUnit.MILLISECONDS);
+    }
+    
+    @Test
+    @DisplayName("토큰 소유 모드에서 락 획득에 실패하면 해제를 시도하지 않는다")
+    void executeWithTokenOwnershipFailure() {
+        // given
+        String lockKey = "test-lock";
+        ReflectionTestUtils.setField(lockUtil, "ownership", LockOwnership.TOKEN);
+        
+        given(redissonClient.getLock(lockKey)).willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willReturn(new CompletableFutureWrapper<>(false));
+        
+        // when & then
+        assertThatThrownBy(() -> lockUtil.executeWithLock(lockKey, () -> "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("락을 획득할 수 없습니다");
+        
+        verify(rLock, never()).unlockAsync(anyLong());
+    }
+    
+    @Test
+    @DisplayName("여러 키는 중복을 제거하고 정렬된 순서로 한 번에 잠근다")
+    void executeWithMultiLock() throws InterruptedException {
+        // given
+        RLock firstLock = mock(RLock.class);
+        RLock secondLock = mock(RLock.class);
+        
+        given(redissonClient.getLock("payment:cancel:1")).willReturn(firstLock);
+        given(redissonClient.getLock("payment:cancel:2")).willReturn(secondLock);
+        given(redissonClient.getMultiLock(firstLock, secondLock)).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(firstLock.isHeldByCurrentThread()).willReturn(true);
+        given(secondLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithMultiLock(
+            List.of("payment:cancel:2", "payment:cancel:1", "payment:cancel:2"),
+            () -> "success"
+        );
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(redissonClient).getMultiLock(firstLock, secondLock);
+        verify(rLock).tryLock(10, 30, TimeUnit.SECONDS);
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("중복을 제거한 키가 하나뿐이면 단일 락으로 처리한다")
+    void executeWithMultiLockSingleKey() throws InterruptedException {
+        // given
+        given(redissonClient.getLock("payment:cancel:1")).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        lockUtil.executeWithMultiLock(List.of("payment:cancel:1", "payment:cancel:1"), () -> "success");
+        
+        // then
+        verify(redissonClient, never()).getMultiLock(any(RLock[].class));
+        verify(rLock).unlock();
+    }
+    
+    @Test
+    @DisplayName("락 키가 비어 있으면 예외가 발생한다")
+    void executeWithMultiLockEmptyKeys() {
+        assertThatThrownBy(() -> lockUtil.executeWithMultiLock(List.of(), () -> "test"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("락 키가 비어 있습니다");
+    }
+    
+    @Test
+    @DisplayName("읽기 락 모드는 읽기-쓰기 락의 읽기 락을 사용한다")
+    void executeWithReadLock() throws InterruptedException {
+        // given
+        String lockKey = "payment:1";
+        RReadWriteLock readWriteLock = mock(RReadWriteLock.class);
+        
+        given(redissonClient.getReadWriteLock(lockKey)).willReturn(readWriteLock);
+        given(readWriteLock.readLock()).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithReadLock(lockKey, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(rLock).tryLock(10, 30, TimeUnit.SECONDS);
+        verify(rLock).unlock();
+        verify(redissonClient, never()).getLock(lockKey);
+    }
+    
+    @Test
+    @DisplayName("쓰기 락 모드는 읽기-쓰기 락의 쓰기 락을 사용한다")
+    void executeWithWriteLock() throws InterruptedException {
+        // given
+        String lockKey = "payment:1";
+        RReadWriteLock readWriteLock = mock(RReadWriteLock.class);
+        
+        given(redissonClient.getReadWriteLock(lockKey)).willReturn(readWriteLock);
+        given(readWriteLock.writeLock()).willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).willReturn(true);
+        given(rLock.isHeldByCurrentThread()).willReturn(true);
+        
+        // when
+        String result = lockUtil.executeWithWriteLock(lockKey, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(rLock).unlock();
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
\ No newline at end of file
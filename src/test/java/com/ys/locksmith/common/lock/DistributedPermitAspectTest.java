@@ -0,0 +1,55 @@
+package com.ys.locksmith.common.lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("분산 permit AOP 테스트")
+class DistributedPermitAspectTest {
+    
+    @Mock
+    private DistributedPermitUtil permitUtil;
+    
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    
+    @Mock
+    private DistributedPermit distributedPermit;
+    
+    @Test
+    @DisplayName("어노테이션 설정대로 permit 안에서 메서드를 실행한다")
+    void executeWithPermit() throws Throwable {
+        // given
+        DistributedPermitAspect aspect = new DistributedPermitAspect(permitUtil);
+        
+        given(distributedPermit.key()).willReturn("permit:gateway:payment");
+        given(distributedPermit.permits()).willReturn(20);
+        given(distributedPermit.waitTime()).willReturn(5L);
+        given(distributedPermit.leaseTime()).willReturn(30L);
+        given(distributedPermit.timeUnit()).willReturn(TimeUnit.SECONDS);
+        given(joinPoint.proceed()).willReturn("success");
+        given(permitUtil.executeWithPermit(
+            eq("permit:gateway:payment"), eq(20), eq(5L), eq(30L), eq(TimeUnit.SECONDS), any()
+        )).willAnswer(invocation -> invocation.<Supplier<Object>>getArgument(5).get());
+        
+        // when
+        Object result = aspect.executeWithPermit(joinPoint, distributedPermit);
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(joinPoint).proceed();
+    }
+}
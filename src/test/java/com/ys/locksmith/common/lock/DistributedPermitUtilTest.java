@@ -0,0 +1,82 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("분산 permit 유틸리티 테스트")
+class DistributedPermitUtilTest {
+    
+    @Mock
+    private PermitProvider permitProvider;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private DistributedPermitUtil permitUtil;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        permitUtil = new DistributedPermitUtil(permitProvider, new LockMetrics(meterRegistry));
+    }
+    
+    @Test
+    @DisplayName("permit을 얻으면 작업을 수행하고 반환하며 대기 시간을 기록한다")
+    void executeWithPermitSuccess() throws InterruptedException {
+        // given
+        String permitKey = "permit:gateway:payment";
+        given(permitProvider.tryAcquire(permitKey, 20, 5, 30, TimeUnit.SECONDS)).willReturn("permit-1");
+        
+        // when
+        String result = permitUtil.executeWithPermit(permitKey, 20, 5, 30, TimeUnit.SECONDS, () -> "success");
+        
+        // then
+        assertThat(result).isEqualTo("success");
+        verify(permitProvider).release(permitKey, "permit-1");
+        assertThat(meterRegistry.get("locksmith.permit.wait").tag("outcome", "acquired").timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("작업 중 예외가 발생해도 permit을 반환한다")
+    void releaseOnException() throws InterruptedException {
+        // given
+        String permitKey = "permit:gateway:payment";
+        given(permitProvider.tryAcquire(permitKey, 20, 5, 30, TimeUnit.SECONDS)).willReturn("permit-1");
+        
+        // when & then
+        assertThatThrownBy(() -> permitUtil.executeWithPermit(permitKey, 20, 5, 30, TimeUnit.SECONDS, () -> {
+            throw new RuntimeException("게이트웨이 오류");
+        })).hasMessage("게이트웨이 오류");
+        
+        verify(permitProvider).release(permitKey, "permit-1");
+    }
+    
+    @Test
+    @DisplayName("대기 시간 안에 permit을 얻지 못하면 예외가 발생하고 실패로 기록한다")
+    void executeWithPermitTimeout() throws InterruptedException {
+        // given
+        String permitKey = "permit:gateway:payment";
+        given(permitProvider.tryAcquire(permitKey, 20, 5, 30, TimeUnit.SECONDS)).willReturn(null);
+        
+        // when & then
+        assertThatThrownBy(() -> permitUtil.executeWithPermit(permitKey, 20, 5, 30, TimeUnit.SECONDS, () -> "test"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("동시 실행 한도를 초과했습니다");
+        
+        verify(permitProvider, never()).release(anyString(), anyString());
+        assertThat(meterRegistry.get("locksmith.permit.wait").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+}
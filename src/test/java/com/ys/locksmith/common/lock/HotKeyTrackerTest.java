@@ -0,0 +1,129 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("핫 키 추적 테스트")
+class HotKeyTrackerTest {
+    
+    @Test
+    @DisplayName("관측 횟수가 많은 키부터 횟수와 평균 대기 시간을 반환한다")
+    void topKeys() {
+        // given
+        HotKeyTracker tracker = new HotKeyTracker(4);
+        
+        // when
+        for (int i = 0; i < 3; i++) {
+            tracker.record("payment:order:ORDER-001", TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        tracker.record("payment:order:ORDER-002", TimeUnit.MILLISECONDS.toNanos(4));
+        
+        // then
+        List<HotKeyTracker.HotKey> top = tracker.top(10);
+        assertThat(top).extracting(HotKeyTracker.HotKey::key)
+            .containsExactly("payment:order:ORDER-001", "payment:order:ORDER-002");
+        assertThat(top.get(0).count()).isEqualTo(3);
+        assertThat(top.get(0).averageWaitMillis()).isEqualTo(10.0);
+        assertThat(top.get(1).averageWaitMillis()).isEqualTo(4.0);
+    }
+    
+    @Test
+    @DisplayName("용량을 넘으면 가장 적게 관측된 키를 밀어내고 빈도가 높은 키는 남긴다")
+    void evictsLeastFrequentKey() {
+        // given
+        HotKeyTracker tracker = new HotKeyTracker(3);
+        for (int i = 0; i < 1000; i++) {
+            tracker.record("payment:order:HOT", 1);
+        }
+        
+        // when - 한 번씩만 등장하는 키가 전체의 절반을 차지해도
+        for (int i = 0; i < 1000; i++) {
+            tracker.record("payment:order:COLD-" + i, 1);
+        }
+        
+        // then
+        List<HotKeyTracker.HotKey> top = tracker.top(3);
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).key()).isEqualTo("payment:order:HOT");
+        assertThat(top.get(0).count()).isEqualTo(1000);
+        assertThat(top.get(0).error()).isZero();
+        assertThat(top).extracting(HotKeyTracker.HotKey::key).contains("payment:order:COLD-999");
+    }
+    
+    @Test
+    @DisplayName("밀려났던 키가 다시 들어오면 이전 최소 횟수를 오차로 넘겨받는다")
+    void inheritsErrorOnReplacement() {
+        // given
+        HotKeyTracker tracker = new HotKeyTracker(1);
+        tracker.record("payment:order:A", 1);
+        tracker.record("payment:order:A", 1);
+        
+        // when
+        tracker.record("payment:order:B", 1);
+        
+        // then
+        HotKeyTracker.HotKey hotKey = tracker.top(1).get(0);
+        assertThat(hotKey.key()).isEqualTo("payment:order:B");
+        assertThat(hotKey.count()).isEqualTo(3);
+        assertThat(hotKey.error()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("동시에 기록하면 기다리지 않고 버린 샘플을 세어, 기록한 횟수와 합하면 전체 호출 수가 된다")
+    void dropsSamplesUnderContention() throws Exception {
+        // given
+        HotKeyTracker tracker = new HotKeyTracker(4);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    tracker.record("payment:order:HOT", 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        // then
+        HotKeyTracker.HotKey hotKey = tracker.top(1).get(0);
+        assertThat(hotKey.count() + tracker.dropped()).isEqualTo((long) threads * perThread);
+    }
+    
+    @Test
+    @DisplayName("초기화하면 추적하던 키가 모두 사라진다")
+    void reset() {
+        // given
+        HotKeyTracker tracker = new HotKeyTracker(2);
+        tracker.record("payment:order:A", 1);
+        tracker.record("payment:order:B", 1);
+        
+        // when
+        tracker.reset();
+        tracker.record("payment:order:C", 1);
+        
+        // then
+        assertThat(tracker.top(10)).extracting(HotKeyTracker.HotKey::key).containsExactly("payment:order:C");
+        assertThat(tracker.dropped()).isZero();
+    }
+}
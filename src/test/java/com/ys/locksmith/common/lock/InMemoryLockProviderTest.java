@@ -0,0 +1,202 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("인메모리 락 프로바이더 테스트")
+class InMemoryLockProviderTest {
+    
+    private final InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("다른 스레드가 보유한 락은 대기 시간 안에 획득할 수 없다")
+    void mutualExclusion() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        assertThat(lock.tryLock(0, -1, TimeUnit.SECONDS)).isTrue();
+        
+        // when
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> tryLockQuietly("payment:order:ORDER-001", 100));
+        
+        // then
+        assertThat(other.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(lock.isHeldByCurrentThread()).isTrue();
+        lock.unlock();
+        assertThat(lock.isHeldByCurrentThread()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("락이 해제되면 대기 중인 스레드가 획득한다")
+    void waiterAcquiresAfterUnlock() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLock(0, -1, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> tryLockQuietly("payment:order:ORDER-001", 5000));
+        
+        // when
+        Thread.sleep(100);
+        lock.unlock();
+        
+        // then
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("같은 스레드는 락에 재진입할 수 있고 획득 횟수만큼 해제해야 풀린다")
+    void reentrant() throws InterruptedException {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        
+        // when
+        lock.tryLock(0, -1, TimeUnit.SECONDS);
+        lock.tryLock(0, -1, TimeUnit.SECONDS);
+        lock.unlock();
+        
+        // then
+        assertThat(lock.isHeldByCurrentThread()).isTrue();
+        lock.unlock();
+        assertThat(lock.isHeldByCurrentThread()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("리스 시간이 지나면 다른 소유자가 락을 가져갈 수 있다")
+    void leaseExpires() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLock(0, 100, TimeUnit.MILLISECONDS);
+        
+        // when
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> tryLockQuietly("payment:order:ORDER-001", 2000));
+        
+        // then
+        assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(lock::unlock)
+            .isInstanceOf(IllegalMonitorStateException.class)
+            .hasMessageContaining("락을 보유하고 있지 않습니다");
+    }
+    
+    @Test
+    @DisplayName("남은 lease는 보유자가 없으면 0, 만료가 없으면 -1이다")
+    void remainingLeaseMillis() throws InterruptedException {
+        // given
+        LockHandle leased = lockProvider.getLock("payment:order:ORDER-001");
+        LockHandle unleased = lockProvider.getLock("payment:order:ORDER-002");
+        assertThat(leased.remainingLeaseMillis()).isZero();
+        
+        // when
+        leased.tryLock(0, 5, TimeUnit.SECONDS);
+        unleased.tryLock(0, -1, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(leased.remainingLeaseMillis()).isBetween(1L, 5_000L);
+        assertThat(unleased.remainingLeaseMillis()).isEqualTo(-1);
+        leased.unlock();
+        unleased.unlock();
+    }
+    
+    @Test
+    @DisplayName("토큰으로 획득한 락은 다른 스레드에서 같은 토큰으로 해제할 수 있다")
+    void tokenOwnership() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        assertThat(lock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS)).isTrue();
+        
+        // when
+        CompletableFuture.supplyAsync(() -> lock.unlockAsync(-1L))
+            .thenCompose(unlocked -> unlocked)
+            .get(5, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(tryLockQuietly("payment:order:ORDER-001", 0)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("다른 토큰으로는 락을 해제할 수 없다")
+    void unlockWithOtherToken() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // when & then
+        assertThatThrownBy(() -> lock.unlockAsync(-2L).toCompletableFuture().get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalMonitorStateException.class);
+    }
+    
+    @Test
+    @DisplayName("읽기 락은 여러 소유자가 동시에 보유할 수 있다")
+    void sharedReadLock() throws Exception {
+        // given
+        LockHandle readLock = lockProvider.getReadLock("payment:1");
+        assertThat(readLock.tryLock(0, -1, TimeUnit.SECONDS)).isTrue();
+        
+        // when
+        CompletableFuture<Boolean> otherReader = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getReadLock("payment:1"), 0));
+        
+        // then
+        assertThat(otherReader.get(5, TimeUnit.SECONDS)).isTrue();
+        readLock.unlock();
+    }
+    
+    @Test
+    @DisplayName("읽기 락이 남아 있으면 쓰기 락을 잡을 수 없고, 모두 해제되면 잡을 수 있다")
+    void readBlocksWrite() throws Exception {
+        // given
+        LockHandle readLock = lockProvider.getReadLock("payment:1");
+        readLock.tryLock(0, -1, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<Boolean> blockedWriter = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getWriteLock("payment:1"), 100));
+        assertThat(blockedWriter.get(5, TimeUnit.SECONDS)).isFalse();
+        CompletableFuture<Boolean> writer = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getWriteLock("payment:1"), 5000));
+        Thread.sleep(100);
+        readLock.unlock();
+        
+        // then
+        assertThat(writer.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    @DisplayName("쓰기 락이 잡혀 있으면 다른 소유자는 읽기 락을 잡을 수 없다")
+    void writeBlocksRead() throws Exception {
+        // given
+        LockHandle writeLock = lockProvider.getWriteLock("payment:1");
+        writeLock.tryLock(0, -1, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<Boolean> reader = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getReadLock("payment:1"), 100));
+        
+        // then
+        assertThat(reader.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(lockProvider.getReadLock("payment:1").tryLock(0, -1, TimeUnit.SECONDS)).isTrue();
+        writeLock.unlock();
+    }
+    
+    private boolean tryLockQuietly(LockHandle lock, long waitMillis) {
+        try {
+            return lock.tryLock(waitMillis, -1, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private boolean tryLockQuietly(String lockKey, long waitMillis) {
+        try {
+            return lockProvider.getLock(lockKey).tryLock(waitMillis, -1, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("인메모리 permit 프로바이더 테스트")
+class InMemoryPermitProviderTest {
+    
+    private final InMemoryPermitProvider permitProvider = new InMemoryPermitProvider();
+    
+    @Test
+    @DisplayName("permit 수를 넘는 요청은 대기 시간 안에 permit을 얻지 못한다")
+    void limitsConcurrentPermits() throws InterruptedException {
+        // given
+        String first = permitProvider.tryAcquire("permit:gateway", 2, 0, 30, TimeUnit.SECONDS);
+        String second = permitProvider.tryAcquire("permit:gateway", 2, 0, 30, TimeUnit.SECONDS);
+        
+        // when
+        String third = permitProvider.tryAcquire("permit:gateway", 2, 50, 30, TimeUnit.MILLISECONDS);
+        
+        // then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull().isNotEqualTo(first);
+        assertThat(third).isNull();
+    }
+    
+    @Test
+    @DisplayName("반환된 permit은 다시 사용할 수 있고, 같은 permit을 두 번 반환해도 한도가 늘지 않는다")
+    void releaseOnce() throws InterruptedException {
+        // given
+        String permitId = permitProvider.tryAcquire("permit:gateway", 1, 0, 30, TimeUnit.SECONDS);
+        
+        // when
+        permitProvider.release("permit:gateway", permitId);
+        permitProvider.release("permit:gateway", permitId);
+        
+        // then
+        assertThat(permitProvider.tryAcquire("permit:gateway", 1, 0, 30, TimeUnit.SECONDS)).isNotNull();
+        assertThat(permitProvider.tryAcquire("permit:gateway", 1, 0, 30, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,172 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("DB 락 프로바이더 테스트")
+class JdbcLockProviderTest {
+    
+    private JdbcTemplate jdbcTemplate;
+    private JdbcLockProvider lockProvider;
+    
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:jdbc-lock-test;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        lockProvider = new JdbcLockProvider(dataSource);
+        lockProvider.createLockTable();
+        jdbcTemplate.update("DELETE FROM distributed_lock");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("락을 획득하면 락 테이블에 행이 생기고 해제하면 삭제된다")
+    void lockAndUnlock() throws InterruptedException {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        
+        // when
+        boolean locked = lock.tryLock(0, 30, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        assertThat(lock.isHeldByCurrentThread()).isTrue();
+        assertThat(countRows()).isEqualTo(1);
+        
+        lock.unlock();
+        assertThat(lock.isHeldByCurrentThread()).isFalse();
+        assertThat(countRows()).isZero();
+    }
+    
+    @Test
+    @DisplayName("다른 스레드가 보유한 락은 대기 시간 안에 획득할 수 없다")
+    void mutualExclusion() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLock(0, 30, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> tryLockQuietly("payment:order:ORDER-001", 200));
+        
+        // then
+        assertThat(other.get(5, TimeUnit.SECONDS)).isFalse();
+        lock.unlock();
+    }
+    
+    @Test
+    @DisplayName("같은 스레드는 락에 재진입할 수 있고 획득 횟수만큼 해제해야 풀린다")
+    void reentrant() throws InterruptedException {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        
+        // when
+        lock.tryLock(0, 30, TimeUnit.SECONDS);
+        lock.tryLock(0, 30, TimeUnit.SECONDS);
+        lock.unlock();
+        
+        // then
+        assertThat(lock.isHeldByCurrentThread()).isTrue();
+        lock.unlock();
+        assertThat(countRows()).isZero();
+    }
+    
+    @Test
+    @DisplayName("리스가 만료된 락은 다른 소유자가 가져간다")
+    void leaseExpires() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLock(0, 100, TimeUnit.MILLISECONDS);
+        
+        // when
+        CompletableFuture<Boolean> other = CompletableFuture.supplyAsync(() -> tryLockQuietly("payment:order:ORDER-001", 2000));
+        
+        // then
+        assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(lock::unlock)
+            .isInstanceOf(IllegalMonitorStateException.class)
+            .hasMessageContaining("락을 보유하고 있지 않습니다");
+    }
+    
+    @Test
+    @DisplayName("남은 리스는 DB 시계 기준으로 계산한다")
+    void remainingLeaseFromDatabaseClock() throws InterruptedException {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:ORDER-001");
+        lock.tryLock(0, 30, TimeUnit.SECONDS);
+        
+        // when
+        long remainingMillis = lock.remainingLeaseMillis();
+        
+        // then
+        assertThat(remainingMillis).isBetween(25_000L, 30_000L);
+        lock.unlock();
+    }
+    
+    @Test
+    @DisplayName("다른 노드의 같은 스레드 ID는 같은 소유자로 취급하지 않는다")
+    void ownerIsScopedToNode() throws InterruptedException {
+        // given
+        JdbcLockProvider otherNode = new JdbcLockProvider(jdbcTemplate.getDataSource());
+        lockProvider.getLock("payment:order:ORDER-001").tryLock(0, 30, TimeUnit.SECONDS);
+        
+        // when
+        boolean locked = otherNode.getLock("payment:order:ORDER-001").tryLock(0, 30, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isFalse();
+        otherNode.shutdown();
+    }
+    
+    @Test
+    @DisplayName("날짜 연산을 확인하지 않은 DB에서는 락 테이블을 만들기 전에 시작을 막는다")
+    void rejectsUnsupportedDatabase() throws Exception {
+        // given
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        given(metaData.getDatabaseProductName()).willReturn("Oracle");
+        Connection connection = mock(Connection.class);
+        given(connection.getMetaData()).willReturn(metaData);
+        DataSource oracle = mock(DataSource.class);
+        given(oracle.getConnection()).willReturn(connection);
+        JdbcLockProvider oracleProvider = new JdbcLockProvider(oracle);
+        
+        // when & then
+        assertThatThrownBy(oracleProvider::createLockTable)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Oracle");
+        verify(connection, never()).createStatement();
+        oracleProvider.shutdown();
+    }
+    
+    private boolean tryLockQuietly(String lockKey, long waitMillis) {
+        try {
+            return lockProvider.getLock(lockKey).tryLock(waitMillis, 30_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM distributed_lock", Integer.class);
+    }
+}
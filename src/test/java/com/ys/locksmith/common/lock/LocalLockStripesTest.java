@@ -0,0 +1,37 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("로컬 stripe 락 테스트")
+class LocalLockStripesTest {
+    
+    @Test
+    @DisplayName("stripe 개수는 2의 거듭제곱으로 올림된다")
+    void roundsUpToPowerOfTwo() {
+        assertThat(new LocalLockStripes(1).size()).isEqualTo(1);
+        assertThat(new LocalLockStripes(3).size()).isEqualTo(4);
+        assertThat(new LocalLockStripes(256).size()).isEqualTo(256);
+        assertThat(new LocalLockStripes(257).size()).isEqualTo(512);
+    }
+    
+    @Test
+    @DisplayName("같은 키는 항상 같은 락을 반환한다")
+    void sameKeySameLock() {
+        // given
+        LocalLockStripes stripes = new LocalLockStripes(16);
+        
+        // when & then
+        assertThat(stripes.get("payment:order:ORDER-001")).isSameAs(stripes.get("payment:order:ORDER-001"));
+    }
+    
+    @Test
+    @DisplayName("stripe 개수가 양수가 아니면 예외가 발생한다")
+    void invalidStripeCount() {
+        assertThatThrownBy(() -> new LocalLockStripes(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("stripe 개수는 양수여야 합니다");
+    }
+}
@@ -0,0 +1,130 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@Tag("benchmark")
+@DisplayName("락-트랜잭션 순서 부하 테스트")
+@Slf4j
+class LockBeforeTransactionBenchmarkTest {
+    
+    private static final int POOL_SIZE = 10;
+    private static final int THREADS = 20;
+    private static final long CRITICAL_SECTION_MILLIS = 10;
+    
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private DistributedLockUtil lockUtil;
+    
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:lock-benchmark;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        dataSource = new HikariDataSource(config);
+        
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        
+        RLock lock = new SimulatedRedisLock().asRLock();
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        lockUtil = new DistributedLockUtil(new RedissonLockProvider(redissonClient), transactionTemplate, new LockMetrics(new SimpleMeterRegistry()));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+    
+    @Test
+    @DisplayName("락을 먼저 획득하면 락 대기 중에 커넥션 풀을 점유하지 않는다")
+    void comparePeakPoolUsage() throws Exception {
+        // when
+        int transactionFirst = run(() -> transactionTemplate.execute(status ->
+            lockUtil.executeWithLock("payment:order:HOT", this::criticalSection)));
+        int lockFirst = run(() ->
+            lockUtil.executeWithLockInTransaction("payment:order:HOT", this::criticalSection));
+        
+        // then
+        log.info("transaction -> lock: peakActiveConnections={}/{}", transactionFirst, POOL_SIZE);
+        log.info("lock -> transaction: peakActiveConnections={}/{}", lockFirst, POOL_SIZE);
+        
+        assertThat(lockFirst).isLessThanOrEqualTo(1);
+        assertThat(transactionFirst).isGreaterThan(lockFirst);
+    }
+    
+    private int run(Runnable request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger peak = new AtomicInteger();
+        
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(dataSource.getHikariPoolMXBean().getActiveConnections(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+        sampler.start();
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                request.run();
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        
+        running.set(false);
+        sampler.join();
+        executor.shutdown();
+        return peak.get();
+    }
+    
+    private Integer criticalSection() {
+        Integer one = jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        try {
+            Thread.sleep(CRITICAL_SECTION_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return one;
+    }
+}
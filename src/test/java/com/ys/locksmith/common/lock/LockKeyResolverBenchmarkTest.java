@@ -0,0 +1,76 @@
+package com.ys.locksmith.common.lock;
+
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Tag("benchmark")
+@DisplayName("락 키 해석 벤치마크")
+@Slf4j
+class LockKeyResolverBenchmarkTest {
+    
+    private static final String KEY_EXPRESSION = "'payment:order:' + #command.orderId";
+    private static final String[] PARAMETER_NAMES = {"command"};
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    
+    private final ExpressionParser parser = new SpelExpressionParser();
+    
+    @Test
+    @DisplayName("메서드별 캐시된 컴파일 표현식이 매 호출 파싱보다 빠르다")
+    void compareUncachedAndCached() {
+        // given
+        LockKeyResolver resolver = new LockKeyResolver(KEY_EXPRESSION, PARAMETER_NAMES);
+        Object[][] args = new Object[1024][];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = new Object[]{PaymentCommand.of(1L, "ORDER-" + i, Money.krw(10000), PaymentMethod.CREDIT_CARD)};
+        }
+        
+        // when
+        double uncached = nanosPerCall(this::resolveUncached, args);
+        double cached = nanosPerCall(resolver::resolve, args);
+        
+        // then
+        log.info("uncached (parse + StandardEvaluationContext per call): {} ns/call", String.format("%.1f", uncached));
+        log.info("cached   (per-method compiled expression)           : {} ns/call", String.format("%.1f", cached));
+        
+        assertThat(cached).isLessThan(uncached);
+    }
+    
+    // 캐시 도입 전 DistributedLockAspect.parseLockKey와 같은 방식
+    private String resolveUncached(Object[] args) {
+        EvaluationContext context = new StandardEvaluationContext();
+        for (int i = 0; i < PARAMETER_NAMES.length; i++) {
+            context.setVariable(PARAMETER_NAMES[i], args[i]);
+        }
+        return parser.parseExpression(KEY_EXPRESSION).getValue(context, String.class);
+    }
+    
+    private double nanosPerCall(Function<Object[], String> resolve, Object[][] args) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += resolve.apply(args[i & (args.length - 1)]).length();
+        }
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += resolve.apply(args[i & (args.length - 1)]).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        assertThat(sink).isPositive();
+        return (double) elapsed / ITERATIONS;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ys.locksmith.common.lock;
+
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("락 키 표현식 해석기 테스트")
+class LockKeyResolverTest {
+    
+    @Test
+    @DisplayName("파라미터 변수를 사용한 표현식을 해석한다")
+    void resolveParameterVariable() {
+        // given
+        LockKeyResolver resolver = new LockKeyResolver("'payment:cancel:' + #paymentId", new String[]{"paymentId"});
+        
+        // when & then
+        assertThat(resolver.resolve(new Object[]{1L})).isEqualTo("payment:cancel:1");
+    }
+    
+    @Test
+    @DisplayName("컴파일된 이후에도 호출마다 인자 값으로 해석한다")
+    void resolveRepeatedlyWithCompiledExpression() {
+        // given
+        LockKeyResolver resolver = new LockKeyResolver("'payment:order:' + #command.orderId", new String[]{"command"});
+        
+        // when & then
+        for (int i = 0; i < 5; i++) {
+            PaymentCommand command = PaymentCommand.of(1L, "ORDER-" + i, Money.krw(10000), PaymentMethod.CREDIT_CARD);
+            assertThat(resolver.resolve(new Object[]{command})).isEqualTo("payment:order:ORDER-" + i);
+        }
+    }
+    
+    @Test
+    @DisplayName("타입 참조와 생성자 호출이 들어간 표현식도 예전처럼 해석한다")
+    void resolveTypeAndConstructorReferences() {
+        // given
+        LockKeyResolver typeResolver = new LockKeyResolver("'payment:cancel:' + T(java.lang.Math).abs(#paymentId)", new String[]{"paymentId"});
+        LockKeyResolver constructorResolver = new LockKeyResolver(
+            "new java.lang.StringBuilder('payment:cancel:').append(#paymentId).toString()", new String[]{"paymentId"}
+        );
+        
+        // when & then
+        assertThat(typeResolver.resolve(new Object[]{-1L})).isEqualTo("payment:cancel:1");
+        assertThat(constructorResolver.resolve(new Object[]{1L})).isEqualTo("payment:cancel:1");
+    }
+    
+    @Test
+    @DisplayName("컬렉션으로 평가되는 표현식은 원소마다 락 키로 펼친다")
+    void resolveAllCollection() {
+        // given
+        LockKeyResolver resolver = new LockKeyResolver("#paymentIds.!['payment:cancel:' + #this]", new String[]{"paymentIds"});
+        
+        // when & then
+        assertThat(resolver.resolveAll(new Object[]{List.of(2L, 1L)}))
+            .containsExactly("payment:cancel:2", "payment:cancel:1");
+    }
+    
+    @Test
+    @DisplayName("문자열로 평가되는 표현식은 락 키 하나로 해석한다")
+    void resolveAllSingleValue() {
+        // given
+        LockKeyResolver resolver = new LockKeyResolver("'payment:cancel:' + #paymentId", new String[]{"paymentId"});
+        
+        // when & then
+        assertThat(resolver.resolveAll(new Object[]{1L})).containsExactly("payment:cancel:1");
+    }
+}
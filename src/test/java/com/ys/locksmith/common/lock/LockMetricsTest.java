@@ -0,0 +1,59 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("락 메트릭 테스트")
+class LockMetricsTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LockMetrics lockMetrics = new LockMetrics(meterRegistry);
+    
+    @Test
+    @DisplayName("락 키의 마지막 구분자 앞부분을 key prefix로 사용한다")
+    void keyPrefix() {
+        assertThat(LockMetrics.keyPrefix("payment:order:ORDER-001")).isEqualTo("payment:order");
+        assertThat(LockMetrics.keyPrefix("payment:cancel:1")).isEqualTo("payment:cancel");
+        assertThat(LockMetrics.keyPrefix("test-lock")).isEqualTo("test-lock");
+    }
+    
+    @Test
+    @DisplayName("strategy 범위를 벗어나면 이전 strategy로 돌아간다")
+    void strategyScopeRestoresPrevious() {
+        // given
+        assertThat(LockMetrics.currentStrategy()).isEqualTo(LockMetrics.DEFAULT_STRATEGY);
+        
+        // when & then
+        try (LockMetrics.StrategyScope outer = LockMetrics.withStrategy("hybrid")) {
+            assertThat(LockMetrics.currentStrategy()).isEqualTo("hybrid");
+            
+            try (LockMetrics.StrategyScope inner = LockMetrics.withStrategy("aop")) {
+                assertThat(LockMetrics.currentStrategy()).isEqualTo("aop");
+            }
+            
+            assertThat(LockMetrics.currentStrategy()).isEqualTo("hybrid");
+        }
+        
+        assertThat(LockMetrics.currentStrategy()).isEqualTo(LockMetrics.DEFAULT_STRATEGY);
+    }
+    
+    @Test
+    @DisplayName("인터럽트는 대기 시간과 실패 횟수에 함께 기록된다")
+    void recordInterrupted() {
+        // when
+        lockMetrics.recordInterrupted("payment:order:ORDER-001", "payment:order", "manual", TimeUnit.MILLISECONDS.toNanos(5));
+        
+        // then
+        assertThat(meterRegistry.get("locksmith.lock.wait")
+            .tags("prefix", "payment:order", "outcome", "interrupted")
+            .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+        assertThat(meterRegistry.get("locksmith.lock.failures")
+            .tags("prefix", "payment:order", "reason", "interrupted")
+            .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Tag("benchmark")
+@DisplayName("락 프로바이더 벤치마크")
+@Slf4j
+class LockProviderBenchmarkTest {
+    
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 200;
+    private static final int KEYS = 4;
+    
+    @Test
+    @DisplayName("같은 조건에서 락 백엔드별 처리량을 비교한다")
+    void compareProviders() throws Exception {
+        // given
+        InMemoryLockProvider memory = new InMemoryLockProvider();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:lock-provider-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcLockProvider jdbc = new JdbcLockProvider(dataSource);
+        jdbc.createLockTable();
+        
+        // when
+        double memoryThroughput = throughput(memory);
+        double jdbcThroughput = throughput(jdbc);
+        
+        // then
+        log.info("memory: {} locks/s", Math.round(memoryThroughput));
+        log.info("jdbc  : {} locks/s", Math.round(jdbcThroughput));
+        
+        assertThat(memoryThroughput).isGreaterThan(jdbcThroughput);
+        
+        memory.shutdown();
+        jdbc.shutdown();
+    }
+    
+    private double throughput(LockProvider lockProvider) throws Exception {
+        DistributedLockUtil lockUtil = new DistributedLockUtil(lockProvider, new TransactionTemplate(), new LockMetrics(new SimpleMeterRegistry()));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        for (int t = 0; t < THREADS; t++) {
+            String lockKey = "payment:order:HOT-" + (t % KEYS);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    lockUtil.executeWithLock(lockKey, 30, 10, TimeUnit.SECONDS, () -> lockKey);
+                }
+                return null;
+            }));
+        }
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        
+        return THREADS * ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,203 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("주문 중복 방지 가드 테스트")
+class OrderIdempotencyGuardTest {
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private OrderIdempotencyGuard orderGuard;
+    
+    @BeforeEach
+    void setUp() {
+        orderGuard = new OrderIdempotencyGuard(
+            new InMemoryOrderReservationStore(), transactionTemplate, new LockMetrics(new SimpleMeterRegistry())
+        );
+    }
+    
+    @AfterEach
+    void tearDown() {
+        orderGuard.shutdown();
+    }
+    
+    @Test
+    @DisplayName("처리가 끝난 주문 ID로 다시 요청하면 작업을 실행하지 않고 중복으로 거절한다")
+    void rejectsCompletedOrder() {
+        // given
+        orderGuard.executeOnce("ORDER-001", () -> "first");
+        
+        // when & then
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> "second"))
+            .isInstanceOf(DuplicateOrderException.class)
+            .hasMessageContaining("이미 존재하는 주문 ID입니다");
+    }
+    
+    @Test
+    @DisplayName("처리 중인 주문은 기다리지 않고 남은 lease를 담아 거절한다")
+    void rejectsOrderInProgress() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> orderGuard.executeOnce("ORDER-001", () -> {
+            started.countDown();
+            await(finish);
+            return "first";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        // when & then
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> "second"))
+            .isInstanceOfSatisfying(LockContendedException.class, e -> {
+                assertThat(e.getLockKey()).isEqualTo("payment:order:ORDER-001");
+                assertThat(e.getRetryAfterMillis()).isBetween(1L, 30_000L);
+            });
+        finish.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+    }
+    
+    @Test
+    @DisplayName("작업이 실패하면 예약을 지워 같은 주문 ID로 다시 시도할 수 있다")
+    void releasesReservationOnFailure() {
+        // given
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> {
+            throw new IllegalStateException("게이트웨이 오류");
+        })).isInstanceOf(IllegalStateException.class);
+        
+        // when
+        String result = orderGuard.executeOnce("ORDER-001", () -> "retried");
+        
+        // then
+        assertThat(result).isEqualTo("retried");
+    }
+    
+    @Test
+    @DisplayName("주문을 예약한 뒤에 트랜잭션을 시작하고, 중복 요청은 트랜잭션을 시작하지 않는다")
+    void reservesBeforeTransaction() {
+        // given
+        List<String> events = new ArrayList<>();
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            events.add("begin");
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        orderGuard.executeOnceInTransaction("ORDER-001", () -> events.add("work"));
+        
+        // when & then
+        assertThatThrownBy(() -> orderGuard.executeOnceInTransaction("ORDER-001", () -> events.add("duplicate")))
+            .isInstanceOf(DuplicateOrderException.class);
+        assertThat(events).containsExactly("begin", "work");
+    }
+    
+    @Test
+    @DisplayName("요청 기한이 지났으면 주문을 예약하지 않는다")
+    void expiredRequestDoesNotReserve() {
+        // given
+        try (RequestDeadline.Scope ignored = RequestDeadline.start(Instant.now().minusMillis(1))) {
+            
+            // when & then
+            assertThatThrownBy(() -> orderGuard.executeOnceInTransaction("ORDER-001", () -> "expired"))
+                .isInstanceOf(RequestDeadlineExceededException.class);
+        }
+        verify(transactionTemplate, never()).execute(any());
+        assertThat(orderGuard.executeOnce("ORDER-001", () -> "after")).isEqualTo("after");
+    }
+    
+    @Test
+    @DisplayName("비동기로 처리 중인 주문은 동기 요청이 막히고, 완료된 뒤에는 중복으로 거절된다")
+    void asyncSharesReservation() throws Exception {
+        // given
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CompletableFuture<String> first = orderGuard.executeOnceAsync("ORDER-001", () -> work);
+        
+        // when & then
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> "sync"))
+            .isInstanceOf(LockContendedException.class);
+        work.complete("async");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("async");
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> "sync"))
+            .isInstanceOf(DuplicateOrderException.class);
+    }
+    
+    @Test
+    @DisplayName("비동기 작업이 실패하면 예약을 지우고, 중복 요청은 실패한 future로 돌려준다")
+    void asyncReleasesReservationOnFailure() {
+        // given
+        CompletableFuture<String> failed = orderGuard.executeOnceAsync("ORDER-001",
+            () -> CompletableFuture.failedFuture(new IllegalStateException("게이트웨이 오류")));
+        assertThat(failed).isCompletedExceptionally();
+        orderGuard.executeOnce("ORDER-001", () -> "retried");
+        
+        // when
+        CompletableFuture<String> duplicate = orderGuard.executeOnceAsync("ORDER-001", () -> CompletableFuture.completedFuture("again"));
+        
+        // then
+        assertThat(duplicate).failsWithin(1, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(DuplicateOrderException.class);
+    }
+    
+    @Test
+    @DisplayName("ADAPTIVE lease면 짧게 잡은 lease를 처리 중에 갱신해 다른 요청이 끼어들지 못한다")
+    void renewsAdaptiveLease() throws Exception {
+        // given
+        ReflectionTestUtils.setField(orderGuard, "leaseStrategy", LeaseStrategy.ADAPTIVE);
+        ReflectionTestUtils.setField(orderGuard, "lease", Duration.ofSeconds(5));
+        for (int i = 0; i < 20; i++) {
+            orderGuard.executeOnce("WARMUP-" + i, () -> "warmup");
+        }
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> orderGuard.executeOnce("ORDER-001", () -> {
+            started.countDown();
+            await(finish);
+            return "first";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        // when
+        Thread.sleep(800);
+        
+        // then
+        assertThatThrownBy(() -> orderGuard.executeOnce("ORDER-001", () -> "second"))
+            .isInstanceOfSatisfying(LockContendedException.class,
+                e -> assertThat(e.getRetryAfterMillis()).isBetween(1L, 500L));
+        finish.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
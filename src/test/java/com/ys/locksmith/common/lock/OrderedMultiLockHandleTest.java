@@ -0,0 +1,103 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("순서 기반 다중 락 테스트")
+class OrderedMultiLockHandleTest {
+    
+    private final InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("모든 키를 잡으면 각 키를 보유하고, 해제하면 모두 풀린다")
+    void lockAll() throws InterruptedException {
+        // given
+        LockHandle multiLock = lockProvider.getMultiLock(List.of("payment:cancel:1", "payment:cancel:2"));
+        
+        // when
+        boolean locked = multiLock.tryLock(0, -1, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        assertThat(multiLock.isHeldByCurrentThread()).isTrue();
+        assertThat(lockProvider.getLock("payment:cancel:2").isHeldByCurrentThread()).isTrue();
+        
+        multiLock.unlock();
+        assertThat(lockProvider.getLock("payment:cancel:1").isHeldByCurrentThread()).isFalse();
+        assertThat(lockProvider.getLock("payment:cancel:2").isHeldByCurrentThread()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("일부 키를 잡지 못하면 먼저 잡은 키를 풀어준다")
+    void releaseAcquiredOnFailure() throws Exception {
+        // given
+        CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getLock("payment:cancel:2")))
+            .get(5, TimeUnit.SECONDS);
+        LockHandle multiLock = lockProvider.getMultiLock(List.of("payment:cancel:1", "payment:cancel:2"));
+        
+        // when
+        boolean locked = multiLock.tryLock(100, -1, TimeUnit.MILLISECONDS);
+        
+        // then
+        assertThat(locked).isFalse();
+        boolean firstAvailable = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getLock("payment:cancel:1")))
+            .get(5, TimeUnit.SECONDS);
+        assertThat(firstAvailable).isTrue();
+    }
+    
+    @Test
+    @DisplayName("일부 키의 lease가 먼저 끝나도 보유 중으로 보고, 해제하면 남은 키를 풀어준다")
+    void releaseRemainingAfterPartialExpiry() throws Exception {
+        // given
+        LockHandle multiLock = lockProvider.getMultiLock(List.of("payment:cancel:1", "payment:cancel:2"));
+        multiLock.tryLock(0, -1, TimeUnit.SECONDS);
+        lockProvider.getLock("payment:cancel:1").unlock();
+        
+        // when
+        boolean held = multiLock.isHeldByCurrentThread();
+        multiLock.unlock();
+        
+        // then
+        assertThat(held).isTrue();
+        boolean secondAvailable = CompletableFuture.supplyAsync(() -> tryLockQuietly(lockProvider.getLock("payment:cancel:2")))
+            .get(5, TimeUnit.SECONDS);
+        assertThat(secondAvailable).isTrue();
+    }
+    
+    @Test
+    @DisplayName("토큰으로 잡은 다중 락은 같은 토큰으로 해제한다")
+    void tokenOwnership() throws Exception {
+        // given
+        LockHandle multiLock = lockProvider.getMultiLock(List.of("payment:cancel:1", "payment:cancel:2"));
+        
+        // when
+        boolean locked = multiLock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        multiLock.unlockAsync(-1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        assertThat(multiLock.tryLock(0, -1, TimeUnit.SECONDS)).isTrue();
+        multiLock.unlock();
+    }
+    
+    private static boolean tryLockQuietly(LockHandle lock) {
+        try {
+            return lock.tryLock(0, -1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Tag("benchmark")
+@DisplayName("우선순위 락 벤치마크")
+@Slf4j
+class PriorityLockBenchmarkTest {
+    
+    private static final String LOCK_KEY = "payment:gateway:HOT";
+    private static final int PAYMENT_THREADS = 48;
+    private static final int CANCELS = 50;
+    private static final long CRITICAL_SECTION_MILLIS = 3;
+    private static final long CANCEL_INTERVAL_MILLIS = 20;
+    
+    private final InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("결제가 락을 포화시키는 동안 취소 요청의 대기 시간 p99를 대기 방식별로 비교한다")
+    void cancellationLatencyUnderPaymentLoad() throws Exception {
+        // when
+        long pubsubP99 = cancelP99WaitMillis(false);
+        long priorityP99 = cancelP99WaitMillis(true);
+        
+        // then
+        log.info("cancel p99 wait: pubsub={}ms, priority={}ms", pubsubP99, priorityP99);
+        assertThat(priorityP99).isLessThan(pubsubP99);
+    }
+    
+    private long cancelP99WaitMillis(boolean prioritized) throws Exception {
+        DistributedLockUtil lockUtil = new DistributedLockUtil(
+            lockProvider, new TransactionTemplate(), new LockMetrics(new SimpleMeterRegistry())
+        );
+        ExecutorService payments = Executors.newFixedThreadPool(PAYMENT_THREADS);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch saturated = new CountDownLatch(PAYMENT_THREADS);
+        
+        for (int i = 0; i < PAYMENT_THREADS; i++) {
+            payments.submit(() -> {
+                saturated.countDown();
+                while (running.get()) {
+                    try {
+                        lock(lockUtil, prioritized, LockPriority.NORMAL, () -> criticalSection(System.nanoTime()));
+                    } catch (IllegalStateException e) {
+                        // 포화 상태에서의 대기 시간 초과는 부하의 일부로 본다
+                    }
+                }
+            });
+        }
+        saturated.await();
+        
+        ExecutorService cancels = Executors.newFixedThreadPool(CANCELS);
+        List<Future<Long>> waits = new ArrayList<>();
+        for (int i = 0; i < CANCELS; i++) {
+            long requestedAt = System.nanoTime();
+            waits.add(cancels.submit(() -> lock(lockUtil, prioritized, LockPriority.HIGH, () -> criticalSection(requestedAt))));
+            Thread.sleep(CANCEL_INTERVAL_MILLIS);
+        }
+        
+        List<Long> waitMillis = new ArrayList<>();
+        for (Future<Long> wait : waits) {
+            waitMillis.add(wait.get(60, TimeUnit.SECONDS));
+        }
+        running.set(false);
+        payments.shutdown();
+        cancels.shutdown();
+        payments.awaitTermination(30, TimeUnit.SECONDS);
+        
+        Collections.sort(waitMillis);
+        return waitMillis.get((int) Math.ceil(waitMillis.size() * 0.99) - 1);
+    }
+    
+    private <T> T lock(DistributedLockUtil lockUtil, boolean prioritized, LockPriority priority, Supplier<T> supplier) {
+        if (prioritized) {
+            return lockUtil.executeWithLock(LOCK_KEY, priority, 30, 30, TimeUnit.SECONDS, supplier);
+        }
+        return lockUtil.executeWithLock(LOCK_KEY, 30, 30, TimeUnit.SECONDS, supplier);
+    }
+    
+    private long criticalSection(long requestedAt) {
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestedAt);
+        try {
+            Thread.sleep(CRITICAL_SECTION_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return waited;
+    }
+}
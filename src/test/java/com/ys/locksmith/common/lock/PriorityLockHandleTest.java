@@ -0,0 +1,100 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("우선순위 대기 락 테스트")
+class PriorityLockHandleTest {
+    
+    private static final String LOCK_KEY = "payment:gateway:HOT";
+    
+    private final InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("나중에 들어온 높은 우선순위 대기자가 먼저 기다린 일반 대기자보다 먼저 락을 얻는다")
+    void highPriorityOvertakesNormal() throws Exception {
+        // given
+        LockHandle holder = lockProvider.getLock(LOCK_KEY);
+        holder.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        List<LockPriority> acquired = new CopyOnWriteArrayList<>();
+        
+        CompletableFuture<Boolean> normal = CompletableFuture.supplyAsync(() -> acquireAndRecord(LockPriority.NORMAL, acquired));
+        Thread.sleep(100);
+        CompletableFuture<Boolean> high = CompletableFuture.supplyAsync(() -> acquireAndRecord(LockPriority.HIGH, acquired));
+        Thread.sleep(100);
+        
+        // when
+        holder.unlockAsync(-1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(normal.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(high.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(acquired).containsExactly(LockPriority.HIGH, LockPriority.NORMAL);
+    }
+    
+    @Test
+    @DisplayName("대기 시간이 지난 대기자는 대기열에서 빠져 뒤의 대기자를 막지 않는다")
+    void timedOutWaiterLeavesQueue() throws Exception {
+        // given
+        LockHandle holder = lockProvider.getLock(LOCK_KEY);
+        holder.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        LockHandle high = lockProvider.getPriorityLock(LOCK_KEY, LockPriority.HIGH);
+        assertThat(high.tryLock(50, -1, TimeUnit.MILLISECONDS)).isFalse();
+        holder.unlockAsync(-1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // when
+        LockHandle normal = lockProvider.getPriorityLock(LOCK_KEY, LockPriority.NORMAL);
+        boolean locked = normal.tryLock(0, -1, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        normal.unlock();
+    }
+    
+    @Test
+    @DisplayName("비동기 획득도 대기열 순서를 따르고 같은 토큰으로 해제할 수 있다")
+    void acquiresAsync() throws Exception {
+        // given
+        LockHandle holder = lockProvider.getLock(LOCK_KEY);
+        holder.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> holder.unlockAsync(-1L));
+        LockHandle high = lockProvider.getPriorityLock(LOCK_KEY, LockPriority.HIGH);
+        
+        // when
+        boolean locked = high.tryLockAsync(2, -1, TimeUnit.SECONDS, 7L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        high.unlockAsync(7L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(high.remainingLeaseMillis()).isZero();
+    }
+    
+    private boolean acquireAndRecord(LockPriority priority, List<LockPriority> acquired) {
+        LockHandle lock = lockProvider.getPriorityLock(LOCK_KEY, priority);
+        try {
+            if (!lock.tryLock(5, -1, TimeUnit.SECONDS)) {
+                return false;
+            }
+            acquired.add(priority);
+            Thread.sleep(20);
+            lock.unlock();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ys.locksmith.common.lock;
+
+import org.redisson.api.RLock;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// 벤치마크용 Redis 락 모델: 모든 호출을 Redis 커맨드 1회로 세고, 해제 시 대기자 전원을 깨운다(pub/sub)
+// fair 모드는 getFairLock처럼 대기열 순서대로 획득하고 해제 시 첫 번째 대기자만 깨운다
+class SimulatedRedisLock {
+    
+    private final Object monitor = new Object();
+    private final AtomicLong commands = new AtomicLong();
+    private final boolean fair;
+    private final Deque<Thread> queue = new ArrayDeque<>();
+    private Thread owner;
+    
+    SimulatedRedisLock() {
+        this(false);
+    }
+    
+    SimulatedRedisLock(boolean fair) {
+        this.fair = fair;
+    }
+    
+    RLock asRLock() throws InterruptedException {
+        RLock lock = mock(RLock.class);
+        
+        doAnswer(invocation -> tryLock(invocation.getArgument(0), invocation.getArgument(2)))
+            .when(lock).tryLock(anyLong(), anyLong(), any(TimeUnit.class));
+        doAnswer(invocation -> isHeldByCurrentThread()).when(lock).isHeldByCurrentThread();
+        doAnswer(invocation -> {
+            unlock();
+            return null;
+        }).when(lock).unlock();
+        
+        return lock;
+    }
+    
+    long commands() {
+        return commands.get();
+    }
+    
+    private boolean tryLock(long waitTime, TimeUnit unit) throws InterruptedException {
+        if (fair) {
+            return tryLockFair(waitTime, unit);
+        }
+        long deadline = System.nanoTime() + unit.toNanos(waitTime);
+        
+        synchronized (monitor) {
+            commands.incrementAndGet();
+            while (owner != null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                // 해제 메시지를 받은 대기자는 다시 락 획득을 시도한다
+                commands.incrementAndGet();
+            }
+            owner = Thread.currentThread();
+            return true;
+        }
+    }
+    
+    private boolean tryLockFair(long waitTime, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(waitTime);
+        Thread current = Thread.currentThread();
+        
+        synchronized (monitor) {
+            commands.incrementAndGet();
+            if (owner == null && queue.isEmpty()) {
+                owner = current;
+                return true;
+            }
+            
+            queue.addLast(current);
+            while (owner != null || queue.peekFirst() != current) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    queue.remove(current);
+                    monitor.notifyAll();
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                // 모델의 모니터는 모두를 깨우지만 실제로는 첫 번째 대기자만 메시지를 받고 재시도한다
+                if (owner == null && queue.peekFirst() == current) {
+                    commands.incrementAndGet();
+                }
+            }
+            queue.removeFirst();
+            owner = current;
+            return true;
+        }
+    }
+    
+    private boolean isHeldByCurrentThread() {
+        synchronized (monitor) {
+            commands.incrementAndGet();
+            return owner == Thread.currentThread();
+        }
+    }
+    
+    private void unlock() {
+        synchronized (monitor) {
+            commands.incrementAndGet();
+            owner = null;
+            monitor.notifyAll();
+        }
+    }
+}
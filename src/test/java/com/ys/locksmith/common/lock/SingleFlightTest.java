@@ -0,0 +1,167 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("single-flight 테스트")
+class SingleFlightTest {
+    
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    
+    @Test
+    @DisplayName("같은 키의 동시 요청은 한 번만 실행되고 같은 결과를 공유한다")
+    void coalescesConcurrentCalls() throws Exception {
+        // given
+        int callers = 5;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        
+        // when
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+            return "payment";
+        }), executor));
+        started.await(5, TimeUnit.SECONDS);
+        
+        for (int i = 1; i < callers; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> {
+                executions.incrementAndGet();
+                return "duplicate";
+            }), executor));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        
+        // then
+        for (CompletableFuture<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("payment");
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+        
+        executor.shutdown();
+    }
+    
+    @Test
+    @DisplayName("실행 중 발생한 예외는 합류한 요청에도 그대로 전달된다")
+    void sharesFailure() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            throw new IllegalStateException("결제 처리 실패");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> "duplicate"));
+        Thread.sleep(100);
+        release.countDown();
+        
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("결제 처리 실패");
+    }
+    
+    @Test
+    @DisplayName("합류한 요청은 먼저 온 요청이 끝나지 않아도 자기 요청 기한이 지나면 포기한다")
+    void followerGivesUpAtOwnDeadline() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "payment";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.start(Instant.now().plusMillis(100))) {
+                return singleFlight.execute("ORDER-001", () -> "duplicate");
+            }
+        });
+        
+        // then
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RequestDeadlineExceededException.class);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("payment");
+    }
+    
+    @Test
+    @DisplayName("먼저 온 요청이 자기 기한을 넘겨 실패해도 기한이 남은 합류 요청은 직접 다시 실행한다")
+    void followerRetriesWhenLeaderDeadlineExceeded() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Instant leaderDeadline = Instant.now();
+        
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("ORDER-001", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            throw new RequestDeadlineExceededException(leaderDeadline);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        
+        // when
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.start(Instant.now().plusSeconds(5))) {
+                return singleFlight.execute("ORDER-001", () -> "payment");
+            }
+        });
+        Thread.sleep(100);
+        release.countDown();
+        
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RequestDeadlineExceededException.class);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("payment");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+    
+    @Test
+    @DisplayName("실행이 끝난 뒤의 요청은 새로 실행된다")
+    void runsAgainAfterCompletion() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        
+        // when
+        singleFlight.execute("ORDER-001", () -> "first-" + executions.incrementAndGet());
+        String second = singleFlight.execute("ORDER-001", () -> "second-" + executions.incrementAndGet());
+        
+        // then
+        assertThat(second).isEqualTo("second-2");
+        assertThat(executions.get()).isEqualTo(2);
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
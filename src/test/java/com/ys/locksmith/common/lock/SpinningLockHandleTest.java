@@ -0,0 +1,73 @@
+package com.ys.locksmith.common.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("스핀 대기 락 테스트")
+class SpinningLockHandleTest {
+    
+    private final InMemoryLockProvider lockProvider = new InMemoryLockProvider();
+    
+    @AfterEach
+    void tearDown() {
+        lockProvider.shutdown();
+    }
+    
+    @Test
+    @DisplayName("다른 소유자가 해제하면 백오프 후 재시도해서 획득한다")
+    void acquiresAfterRelease() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:HOT");
+        lock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> lock.unlockAsync(-1L));
+        SpinningLockHandle spinning = new SpinningLockHandle(lock, 5, 20, TimeUnit.MILLISECONDS);
+        
+        // when
+        boolean locked = spinning.tryLock(2, -1, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        assertThat(spinning.isHeldByCurrentThread()).isTrue();
+        spinning.unlock();
+    }
+    
+    @Test
+    @DisplayName("대기 시간 안에 획득하지 못하면 false를 반환한다")
+    void timesOut() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:HOT");
+        lock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        SpinningLockHandle spinning = new SpinningLockHandle(lock, 5, 20, TimeUnit.MILLISECONDS);
+        
+        // when
+        long startedAt = System.nanoTime();
+        boolean locked = spinning.tryLock(100, -1, TimeUnit.MILLISECONDS);
+        
+        // then
+        assertThat(locked).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(100);
+    }
+    
+    @Test
+    @DisplayName("비동기 획득도 스레드를 점유하지 않고 재시도해서 같은 토큰으로 획득한다")
+    void acquiresAsync() throws Exception {
+        // given
+        LockHandle lock = lockProvider.getLock("payment:order:HOT");
+        lock.tryLockAsync(0, -1, TimeUnit.SECONDS, -1L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> lock.unlockAsync(-1L));
+        SpinningLockHandle spinning = new SpinningLockHandle(lock, 5, 20, TimeUnit.MILLISECONDS);
+        
+        // when
+        boolean locked = spinning.tryLockAsync(2, -1, TimeUnit.SECONDS, -2L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // then
+        assertThat(locked).isTrue();
+        spinning.unlockAsync(-2L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,94 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@Tag("benchmark")
+@DisplayName("2단계 락 벤치마크")
+@Slf4j
+class TwoTierLockBenchmarkTest {
+    
+    private static final int THREADS = 32;
+    private static final long CRITICAL_SECTION_MILLIS = 5;
+    
+    @Test
+    @DisplayName("핫 키 경합 시 2단계 락이 Redis 왕복과 p99 대기 시간을 줄인다")
+    void compareSingleTierAndTwoTier() throws Exception {
+        // when
+        Result singleTier = run(false);
+        Result twoTier = run(true);
+        
+        // then
+        log.info("single-tier: redisCommands={}, p99Wait={}ms", singleTier.redisCommands, singleTier.p99WaitMillis);
+        log.info("two-tier   : redisCommands={}, p99Wait={}ms", twoTier.redisCommands, twoTier.p99WaitMillis);
+        
+        assertThat(twoTier.redisCommands).isLessThan(singleTier.redisCommands);
+        assertThat(twoTier.redisCommands).isEqualTo(THREADS * 3L);
+    }
+    
+    private Result run(boolean twoTier) throws Exception {
+        SimulatedRedisLock redis = new SimulatedRedisLock();
+        RLock lock = redis.asRLock();
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        DistributedLockUtil lockUtil = new DistributedLockUtil(new RedissonLockProvider(redissonClient), new TransactionTemplate(), new LockMetrics(new SimpleMeterRegistry()));
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> waits = new ArrayList<>();
+        
+        for (int i = 0; i < THREADS; i++) {
+            waits.add(executor.submit(() -> {
+                start.await();
+                long requestedAt = System.nanoTime();
+                return twoTier
+                    ? lockUtil.executeWithTwoTierLock("payment:order:HOT", () -> criticalSection(requestedAt))
+                    : lockUtil.executeWithLock("payment:order:HOT", () -> criticalSection(requestedAt));
+            }));
+        }
+        
+        start.countDown();
+        List<Long> waitMillis = new ArrayList<>();
+        for (Future<Long> wait : waits) {
+            waitMillis.add(wait.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        
+        Collections.sort(waitMillis);
+        long p99 = waitMillis.get((int) Math.ceil(waitMillis.size() * 0.99) - 1);
+        return new Result(redis.commands(), p99);
+    }
+    
+    private long criticalSection(long requestedAt) {
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestedAt);
+        try {
+            Thread.sleep(CRITICAL_SECTION_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return waited;
+    }
+    
+    private record Result(long redisCommands, long p99WaitMillis) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+@Tag("benchmark")
+@DisplayName("가상 스레드 처리량 벤치마크")
+@Slf4j
+class VirtualThreadLockBenchmarkTest {
+    
+    private static final int REQUESTS = 2_000;
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final long GATEWAY_MILLIS = 100;
+    
+    @Test
+    @DisplayName("게이트웨이 대기가 긴 결제는 가상 스레드에서 처리량이 높다")
+    void comparePlatformAndVirtualThreads() throws Exception {
+        // given
+        DistributedLockUtil lockUtil = tokenOwnedLockUtil();
+        
+        // when
+        double platform = throughput(lockUtil, Executors.newFixedThreadPool(PLATFORM_POOL_SIZE));
+        double virtual = throughput(lockUtil, Executors.newVirtualThreadPerTaskExecutor());
+        
+        // then
+        log.info("platform threads ({}): {} req/s", PLATFORM_POOL_SIZE, Math.round(platform));
+        log.info("virtual threads      : {} req/s", Math.round(virtual));
+        
+        assertThat(virtual).isGreaterThan(platform);
+    }
+    
+    private double throughput(DistributedLockUtil lockUtil, ExecutorService executor) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String lockKey = "payment:order:ORDER-" + i;
+            futures.add(executor.submit(() -> lockUtil.executeWithLock(lockKey, this::callGateway)));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        
+        return REQUESTS / (elapsed / 1_000_000_000.0);
+    }
+    
+    // MockPaymentGateway와 같은 블로킹 대기
+    private String callGateway() {
+        try {
+            Thread.sleep(GATEWAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "TXN";
+    }
+    
+    private DistributedLockUtil tokenOwnedLockUtil() {
+        RLock lock = mock(RLock.class, withSettings().stubOnly());
+        given(lock.tryLockAsync(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+            .willAnswer(invocation -> new CompletableFutureWrapper<>(true));
+        given(lock.unlockAsync(anyLong()))
+            .willAnswer(invocation -> new CompletableFutureWrapper<>((Void) null));
+        RedissonClient redissonClient = mock(RedissonClient.class, withSettings().stubOnly());
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        
+        DistributedLockUtil lockUtil = new DistributedLockUtil(new RedissonLockProvider(redissonClient), new TransactionTemplate(), new LockMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(lockUtil, "ownership", LockOwnership.TOKEN);
+        return lockUtil;
+    }
+}
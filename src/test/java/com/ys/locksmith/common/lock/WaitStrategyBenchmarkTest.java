@@ -0,0 +1,103 @@
+package com.ys.locksmith.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@Tag("benchmark")
+@DisplayName("대기 방식별 경합 벤치마크")
+@Slf4j
+class WaitStrategyBenchmarkTest {
+    
+    private static final int THREADS = 64;
+    private static final long CRITICAL_SECTION_MILLIS = 5;
+    
+    @Test
+    @DisplayName("핫 키 경합 시 대기 방식별로 락 하나를 얻는 데 드는 Redis 커맨드 수를 비교한다")
+    void compareWaitStrategies() throws Exception {
+        // when
+        Result pubsub = run(WaitStrategy.PUBSUB);
+        Result spin = run(WaitStrategy.SPIN);
+        Result fair = run(WaitStrategy.FAIR);
+        
+        // then
+        for (Result result : List.of(pubsub, spin, fair)) {
+            log.info("{}: redisCommands/lock={}, p99Wait={}ms",
+                result.waitStrategy, String.format("%.1f", result.commandsPerLock()), result.p99WaitMillis);
+        }
+        
+        assertThat(fair.commandsPerLock()).isLessThan(pubsub.commandsPerLock());
+        assertThat(spin.commandsPerLock()).isLessThan(pubsub.commandsPerLock());
+    }
+    
+    private Result run(WaitStrategy waitStrategy) throws Exception {
+        SimulatedRedisLock redis = new SimulatedRedisLock(waitStrategy == WaitStrategy.FAIR);
+        RLock lock = redis.asRLock();
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+        given(redissonClient.getFairLock(anyString())).willReturn(lock);
+        DistributedLockUtil lockUtil = new DistributedLockUtil(
+            new RedissonLockProvider(redissonClient), new TransactionTemplate(), new LockMetrics(new SimpleMeterRegistry())
+        );
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> waits = new ArrayList<>();
+        
+        for (int i = 0; i < THREADS; i++) {
+            waits.add(executor.submit(() -> {
+                start.await();
+                long requestedAt = System.nanoTime();
+                return lockUtil.executeWithLock("payment:order:HOT", waitStrategy, 30, 30, TimeUnit.SECONDS,
+                    () -> criticalSection(requestedAt));
+            }));
+        }
+        
+        start.countDown();
+        List<Long> waitMillis = new ArrayList<>();
+        for (Future<Long> wait : waits) {
+            waitMillis.add(wait.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        
+        Collections.sort(waitMillis);
+        long p99 = waitMillis.get((int) Math.ceil(waitMillis.size() * 0.99) - 1);
+        return new Result(waitStrategy, redis.commands(), waitMillis.size(), p99);
+    }
+    
+    private long criticalSection(long requestedAt) {
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestedAt);
+        try {
+            Thread.sleep(CRITICAL_SECTION_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return waited;
+    }
+    
+    private record Result(WaitStrategy waitStrategy, long redisCommands, int acquiredLocks, long p99WaitMillis) {
+        
+        double commandsPerLock() {
+            return (double) redisCommands / acquiredLocks;
+        }
+    }
+}
@@ -9,16 +9,27 @@ import com.ys.locksmith.payment.domain.PaymentMethod;
 import com.ys.locksmith.payment.domain.PaymentStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import com.ys.locksmith.common.exception.GlobalExceptionHandler;
+import com.ys.locksmith.common.lock.LockContendedException;
+import com.ys.locksmith.common.lock.RequestDeadlineExceededException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,6 +70,53 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
     
+    @Test
+    @DisplayName("비동기 결제 요청을 성공적으로 처리한다")
+    void processPaymentAsync() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment completedPayment = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        completedPayment.complete();
+        
+        given(paymentUseCase.processPaymentAsync(any(PaymentCommand.class)))
+                .willReturn(CompletableFuture.completedFuture(completedPayment));
+        
+        // when
+        MvcResult asyncResult = mockMvc.perform(post("/api/payments/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value("ORDER-001"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+    
+    @Test
+    @DisplayName("비동기 결제 요청이 실패하면 예외 처리기가 응답을 만든다")
+    void processPaymentAsyncFailure() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        
+        given(paymentUseCase.processPaymentAsync(any(PaymentCommand.class)))
+                .willReturn(CompletableFuture.failedFuture(new IllegalArgumentException("이미 존재하는 주문 ID입니다: ORDER-001")));
+        
+        // when
+        MvcResult asyncResult = mockMvc.perform(post("/api/payments/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // then
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+    }
+    
     @Test
     @DisplayName("결제 정보를 성공적으로 조회한다")
     void getPayment() throws Exception {
@@ -121,4 +179,113 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.code").value("BAD_REQUEST"))
                 .andExpect(jsonPath("$.message").value("사용자 ID는 필수입니다."));
     }
+    
+    @Test
+    @DisplayName("락 경합으로 실패하면 남은 lease를 Retry-After로 담아 429를 응답한다")
+    void cancelPaymentLockContended() throws Exception {
+        // given
+        given(paymentUseCase.cancelPayment(1L))
+                .willThrow(new LockContendedException("payment:cancel:ORDER-001", 2_300));
+        
+        // when & then
+        mockMvc.perform(post("/api/payments/1/cancel"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.code").value("LOCK_CONTENDED"));
+    }
+    
+    @Test
+    @DisplayName("남은 lease를 알 수 없으면 Retry-After는 1초로 응답한다")
+    void cancelPaymentLockContendedWithoutLease() throws Exception {
+        // given
+        given(paymentUseCase.cancelPayment(1L))
+                .willThrow(new LockContendedException("payment:cancel:ORDER-001", -1));
+        
+        // when & then
+        mockMvc.perform(post("/api/payments/1/cancel"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+    
+    @Test
+    @DisplayName("X-Request-Timeout 헤더로 받은 요청 기한을 결제 명령에 담아 전달한다")
+    void processPaymentWithRequestTimeout() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment completedPayment = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        completedPayment.complete();
+        
+        given(paymentUseCase.processPayment(any(PaymentCommand.class))).willReturn(completedPayment);
+        Instant requestedAt = Instant.now();
+        
+        // when
+        mockMvc.perform(post("/api/payments")
+                .header("X-Request-Timeout", 500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        
+        // then
+        ArgumentCaptor<PaymentCommand> command = ArgumentCaptor.forClass(PaymentCommand.class);
+        verify(paymentUseCase).processPayment(command.capture());
+        assertThat(command.getValue().getDeadline())
+                .isBetween(requestedAt.plusMillis(500), Instant.now().plusMillis(500));
+    }
+    
+    @Test
+    @DisplayName("X-Request-Timeout 헤더가 숫자가 아니면 400으로 응답한다")
+    void processPaymentWithInvalidRequestTimeout() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        
+        // when & then
+        mockMvc.perform(post("/api/payments")
+                .header("X-Request-Timeout", "5s")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+        verifyNoInteractions(paymentUseCase);
+    }
+    
+    @Test
+    @DisplayName("헤더가 없으면 서버 기본 요청 기한을 사용한다")
+    void processPaymentWithDefaultTimeout() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment completedPayment = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        
+        given(paymentUseCase.processPayment(any(PaymentCommand.class))).willReturn(completedPayment);
+        Instant requestedAt = Instant.now();
+        
+        // when
+        mockMvc.perform(post("/api/payments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        
+        // then
+        ArgumentCaptor<PaymentCommand> command = ArgumentCaptor.forClass(PaymentCommand.class);
+        verify(paymentUseCase).processPayment(command.capture());
+        assertThat(command.getValue().getDeadline())
+                .isBetween(requestedAt.plus(Duration.ofSeconds(10)), Instant.now().plus(Duration.ofSeconds(10)));
+    }
+    
+    @Test
+    @DisplayName("요청 기한이 지나 중단된 작업은 504로 응답한다")
+    void processPaymentDeadlineExceeded() throws Exception {
+        // given
+        PaymentRequest request = new PaymentRequest(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        
+        given(paymentUseCase.processPayment(any(PaymentCommand.class)))
+                .willThrow(new RequestDeadlineExceededException(Instant.now()));
+        
+        // when & then
+        mockMvc.perform(post("/api/payments")
+                .header("X-Request-Timeout", 100)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.code").value("REQUEST_DEADLINE_EXCEEDED"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.ys.locksmith.payment.adapter.out;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("주문 ID filter 테스트")
+class OrderIdFilterTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger queries = new AtomicInteger();
+    private JdbcTemplate jdbcTemplate;
+    private OrderIdFilter orderIdFilter;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:order-filter-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS payments (order_id VARCHAR(255) NOT NULL PRIMARY KEY)");
+        jdbcTemplate.update("DELETE FROM payments");
+        jdbcTemplate.update("INSERT INTO payments (order_id) VALUES ('ORDER-001')");
+        orderIdFilter = new OrderIdFilter(jdbcTemplate, mock(ObjectProvider.class), meterRegistry);
+    }
+    
+    @Test
+    @DisplayName("재구축 전에는 모든 조회를 DB로 보낸다")
+    void queriesBeforeRebuild() {
+        // when
+        boolean exists = orderIdFilter.exists("NEW-ORDER", () -> countingQuery(false));
+        
+        // then
+        assertThat(exists).isFalse();
+        assertThat(queries).hasValue(1);
+    }
+    
+    @Test
+    @DisplayName("테이블에서 재구축한 뒤에는 처음 보는 주문 ID의 DB 조회를 건너뛴다")
+    void skipsQueryForUnknownOrder() {
+        // given
+        orderIdFilter.rebuild();
+        
+        // when
+        boolean newOrder = orderIdFilter.exists("NEW-ORDER", () -> countingQuery(false));
+        boolean existingOrder = orderIdFilter.exists("ORDER-001", () -> countingQuery(true));
+        
+        // then
+        assertThat(newOrder).isFalse();
+        assertThat(existingOrder).isTrue();
+        assertThat(queries).hasValue(1);
+        assertThat(meterRegistry.get("locksmith.order.filter").tag("outcome", "absent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("locksmith.order.filter").tag("outcome", "present").counter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("저장된 주문 ID는 DB로 확인하고, DB에 없으면 오탐으로 기록한다")
+    void recordsFalsePositive() {
+        // given
+        orderIdFilter.rebuild();
+        orderIdFilter.put("ROLLED-BACK-ORDER");
+        
+        // when
+        boolean exists = orderIdFilter.exists("ROLLED-BACK-ORDER", () -> countingQuery(false));
+        orderIdFilter.exists("NEW-ORDER", () -> countingQuery(false));
+        
+        // then
+        assertThat(exists).isFalse();
+        assertThat(queries).hasValue(1);
+        assertThat(meterRegistry.get("locksmith.order.filter.false_positive_rate").gauge().value()).isEqualTo(0.5);
+    }
+    
+    private boolean countingQuery(boolean result) {
+        queries.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+// 같은 결제에 몰리는 취소 요청의 비율을 바꿔 가며 전략별 취소 처리량을 비교한다
+// test 프로필의 분산락은 인메모리이므로, Redis 왕복이 있는 운영 환경보다 분산락 쪽 비용이 적게 잡힌다
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("결제 취소 충돌 벤치마크")
+@Slf4j
+class CancelConflictBenchmarkTest {
+    
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 1_200;
+    private static final int LOW_CONFLICT_PAYMENTS = 1_000;
+    private static final int HIGH_CONFLICT_PAYMENTS = 20;
+    // 낙관적 락은 커밋 시점에야 충돌을 알기 때문에 게이트웨이 호출이 중복될 수 있어 빠진다
+    private static final Set<String> SERIALIZED_CANCELS = Set.of("manual lock", "aop lock", "pessimistic", "hybrid", "conditional");
+    
+    @Autowired
+    private PaymentService noLockService;
+    
+    @Autowired
+    private PaymentServiceWithManualLock manualLockService;
+    
+    @Autowired
+    private PaymentServiceWithAop aopService;
+    
+    @Autowired
+    private PaymentServiceWithPessimisticLock pessimisticLockService;
+    
+    @Autowired
+    private PaymentServiceWithHybridLock hybridLockService;
+    
+    @Autowired
+    private PaymentServiceWithOptimisticLock optimisticLockService;
+    
+    @Autowired
+    private PaymentServiceWithConditionalUpdate conditionalUpdateService;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @MockitoBean
+    private ExternalPaymentGateway paymentGateway;
+    
+    private final AtomicInteger gatewayCancels = new AtomicInteger();
+    
+    @Test
+    @DisplayName("충돌이 적을 때와 많을 때 전략별 결제 취소 처리량을 비교한다")
+    void compareCancelThroughput() throws Exception {
+        // given
+        given(paymentGateway.cancelPayment(anyString())).willAnswer(invocation -> {
+            gatewayCancels.incrementAndGet();
+            return true;
+        });
+        Map<String, PaymentUseCase> strategies = new LinkedHashMap<>();
+        strategies.put("no lock", noLockService);
+        strategies.put("manual lock", manualLockService);
+        strategies.put("aop lock", aopService);
+        strategies.put("pessimistic", pessimisticLockService);
+        strategies.put("hybrid", hybridLockService);
+        strategies.put("optimistic", optimisticLockService);
+        strategies.put("conditional", conditionalUpdateService);
+        
+        for (Map.Entry<String, PaymentUseCase> strategy : strategies.entrySet()) {
+            run(strategy.getValue(), "WARMUP-" + strategy.getKey(), LOW_CONFLICT_PAYMENTS);
+        }
+        
+        // when & then
+        for (int payments : List.of(LOW_CONFLICT_PAYMENTS, HIGH_CONFLICT_PAYMENTS)) {
+            log.info("--- {} requests over {} payments ---", REQUESTS, payments);
+            for (Map.Entry<String, PaymentUseCase> strategy : strategies.entrySet()) {
+                Result result = run(strategy.getValue(), strategy.getKey() + "-" + payments, payments);
+                log.info("{}: {}", strategy.getKey(), result);
+                
+                // 어느 전략이든 결제마다 적어도 한 요청은 취소를 끝낸다
+                assertThat(result.cancelled()).isEqualTo(payments);
+                // 게이트웨이 호출 전에 취소를 직렬화하는 전략은 같은 결제의 취소를 게이트웨이로 두 번 보내지 않는다
+                if (SERIALIZED_CANCELS.contains(strategy.getKey())) {
+                    assertThat(result.gatewayCalls()).isEqualTo(payments);
+                }
+            }
+        }
+    }
+    
+    private Result run(PaymentUseCase paymentUseCase, String prefix, int payments) throws Exception {
+        List<Long> paymentIds = completedPayments(prefix, payments);
+        List<Long> targets = cancelTargets(paymentIds);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        int gatewayCallsBefore = gatewayCancels.get();
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long paymentId : targets) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    paymentUseCase.cancelPayment(paymentId);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    // 이미 취소되었거나 락/재시도 경합으로 거절된 요청
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        
+        int cancelled = 0;
+        for (Long paymentId : paymentIds) {
+            if (paymentRepository.findById(paymentId).orElseThrow().getStatus() == PaymentStatus.CANCELLED) {
+                cancelled++;
+            }
+        }
+        return new Result(cancelled, rejected.get(), errors.get(), gatewayCancels.get() - gatewayCallsBefore,
+            targets.size() * 1e9 / elapsedNanos);
+    }
+    
+    private List<Long> completedPayments(String prefix, int count) {
+        List<Long> paymentIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Payment payment = Payment.create(1L, prefix + "-" + i, Money.krw(10000), PaymentMethod.CREDIT_CARD);
+            payment.complete();
+            paymentIds.add(paymentRepository.save(payment).getId());
+        }
+        return paymentIds;
+    }
+    
+    // 모든 결제를 한 번씩 넣고 나머지 요청은 무작위로 채운다. 결제 수가 적을수록 같은 결제에 요청이 몰린다
+    private static List<Long> cancelTargets(List<Long> paymentIds) {
+        Random random = new Random(42);
+        List<Long> targets = new ArrayList<>(paymentIds);
+        while (targets.size() < REQUESTS) {
+            targets.add(paymentIds.get(random.nextInt(paymentIds.size())));
+        }
+        Collections.shuffle(targets, random);
+        return targets;
+    }
+    
+    // gatewayCalls가 결제 수보다 크면 같은 결제의 취소가 게이트웨이까지 중복으로 나간 것이다
+    private record Result(int cancelled, int rejected, int errors, int gatewayCalls, double throughput) {
+        
+        @Override
+        public String toString() {
+            return String.format("cancelled=%d, rejected=%d, errors=%d, gatewayCalls=%d, throughput=%.0f req/s",
+                cancelled, rejected, errors, gatewayCalls, throughput);
+        }
+    }
+}
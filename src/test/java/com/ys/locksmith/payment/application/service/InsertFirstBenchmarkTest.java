@@ -0,0 +1,141 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.LockContendedException;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.in.PaymentUseCase;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+// H2 위에서 게이트웨이만 대체하고 실제 JPA/트랜잭션 경로로 처리량을 비교한다
+// test 프로필의 락과 주문 예약은 인메모리이므로, Redis 왕복이 있는 운영 환경보다 락 쪽 비용이 적게 잡힌다
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("insert-first 중복 방지 벤치마크")
+@Slf4j
+class InsertFirstBenchmarkTest {
+    
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 3_000;
+    private static final double DUPLICATE_RATE = 0.3;
+    
+    @Autowired
+    private PaymentServiceWithManualLock manualLockService;
+    
+    @Autowired
+    private PaymentServiceWithInsertFirst insertFirstService;
+    
+    @MockitoBean
+    private ExternalPaymentGateway paymentGateway;
+    
+    @Test
+    @DisplayName("중복 요청이 섞인 부하에서 분산락 방식과 insert-first 방식의 처리량을 비교한다")
+    void compareThroughput() throws Exception {
+        // given
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willReturn(PaymentGatewayResult.success("TXN-BENCH"));
+        run(manualLockService, orderIds("WARMUP-LOCK"));
+        run(insertFirstService, orderIds("WARMUP-INSERT"));
+        
+        // when
+        List<String> lockOrders = orderIds("LOCK");
+        List<String> insertOrders = orderIds("INSERT");
+        Result manualLock = run(manualLockService, lockOrders);
+        Result insertFirst = run(insertFirstService, insertOrders);
+        
+        // then
+        log.info("manual lock : {}", manualLock);
+        log.info("insert-first: {}", insertFirst);
+        
+        assertThat(manualLock.created()).isEqualTo(new HashSet<>(lockOrders).size());
+        assertThat(insertFirst.created()).isEqualTo(new HashSet<>(insertOrders).size());
+        assertThat(manualLock.errors()).isZero();
+        assertThat(insertFirst.errors()).isZero();
+    }
+    
+    // 일정 비율의 요청은 앞서 나온 주문 ID를 다시 사용한다 (클라이언트 재시도/중복 클릭)
+    private static List<String> orderIds(String prefix) {
+        Random random = new Random(42);
+        List<String> orderIds = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            if (!orderIds.isEmpty() && random.nextDouble() < DUPLICATE_RATE) {
+                orderIds.add(orderIds.get(random.nextInt(orderIds.size())));
+            } else {
+                orderIds.add(prefix + "-" + i);
+            }
+        }
+        return orderIds;
+    }
+    
+    private Result run(PaymentUseCase paymentUseCase, List<String> orderIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        // 분산락 방식은 처리 중인 같은 주문의 결과를 공유(SingleFlight)하므로 성공 응답 수 대신 생성된 결제 수를 센다
+        Set<Long> created = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (String orderId : orderIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    created.add(paymentUseCase.processPayment(
+                        PaymentCommand.of(1L, orderId, Money.krw(10000), PaymentMethod.CREDIT_CARD)
+                    ).getId());
+                } catch (IllegalArgumentException | LockContendedException e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        
+        return new Result(created.size(), rejected.get(), errors.get(), orderIds.size() * 1e9 / elapsedNanos);
+    }
+    
+    private record Result(int created, int rejected, int errors, double throughput) {
+        
+        @Override
+        public String toString() {
+            return String.format("created=%d, rejected=%d, errors=%d, throughput=%.0f req/s", created, rejected, errors, throughput);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.ys.locksmith.payment.application.port.out.PaymentRepository;
 import com.ys.locksmith.payment.domain.Money;
 import com.ys.locksmith.payment.domain.Payment;
 import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,14 +15,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -105,4 +113,48 @@ class PaymentServiceConcurrencyTest {
         assertThat(result1.getOrderId()).isEqualTo("ORDER-001");
         assertThat(result2.getOrderId()).isEqualTo("ORDER-002");
     }
+    
+    @Test
+    @DisplayName("같은 결제를 동시에 취소하면 뒤의 요청은 락을 기다린 뒤 다시 읽은 상태로 거절되어 PG 취소는 한 번만 나간다")
+    void concurrentCancelWithSamePayment() throws Exception {
+        // given
+        Long paymentId = 1L;
+        AtomicReference<PaymentStatus> storedStatus = new AtomicReference<>(PaymentStatus.COMPLETED);
+        given(paymentRepository.findById(paymentId)).willAnswer(invocation -> {
+            // 트랜잭션마다 새 엔티티를 읽는 것처럼 저장된 상태로 새 객체를 만든다
+            Payment payment = Payment.create(1L, "CANCEL-ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+            payment.complete();
+            if (storedStatus.get() == PaymentStatus.CANCELLED) {
+                payment.cancel();
+            }
+            return Optional.of(payment);
+        });
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            storedStatus.set(payment.getStatus());
+            return payment;
+        });
+        given(paymentGateway.cancelPayment("CANCEL-ORDER-001")).willAnswer(invocation -> {
+            Thread.sleep(200);
+            return true;
+        });
+        
+        // when
+        CompletableFuture<Payment> first = CompletableFuture.supplyAsync(() -> paymentServiceWithManualLock.cancelPayment(paymentId));
+        CompletableFuture<Payment> second = CompletableFuture.supplyAsync(() -> paymentServiceWithManualLock.cancelPayment(paymentId));
+        
+        // then
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<Payment> future : List.of(first, second)) {
+            try {
+                assertThat(future.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(PaymentStatus.CANCELLED);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        assertThat(failures).singleElement()
+            .isInstanceOf(IllegalStateException.class)
+            .hasFieldOrPropertyWithValue("message", "완료된 결제만 취소할 수 있습니다.");
+        verify(paymentGateway, times(1)).cancelPayment("CANCEL-ORDER-001");
+    }
 }
\ No newline at end of file
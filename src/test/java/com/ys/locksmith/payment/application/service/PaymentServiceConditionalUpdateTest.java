@@ -0,0 +1,190 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("조건부 UPDATE 결제 서비스 테스트")
+class PaymentServiceConditionalUpdateTest {
+    
+    @Mock
+    private PaymentRepository paymentRepository;
+    
+    @Mock
+    private ExternalPaymentGateway paymentGateway;
+    
+    private PaymentServiceWithConditionalUpdate paymentService;
+    
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceWithConditionalUpdate(paymentRepository, paymentGateway);
+    }
+    
+    @Test
+    @DisplayName("완료 상태에서 취소 중 상태로 선점하고, 게이트웨이 취소가 끝나면 취소 상태로 확정한다")
+    void cancelsWithConditionalUpdate() {
+        // given
+        Long paymentId = 1L;
+        Payment cancelledPayment = completedPayment();
+        cancelledPayment.cancel();
+        given(paymentRepository.findById(paymentId))
+            .willReturn(Optional.of(completedPayment()))
+            .willReturn(Optional.of(cancelledPayment));
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.COMPLETED), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.CANCELLED), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentGateway.cancelPayment("ORDER-001")).willReturn(true);
+        
+        // when
+        Payment result = paymentService.cancelPayment(paymentId);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELLED);
+        verify(paymentRepository).transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.CANCELLED), any(LocalDateTime.class));
+        verify(paymentRepository, never()).findByIdWithPessimisticLock(any());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+    
+    @Test
+    @DisplayName("다른 요청이 먼저 전이시켜 바뀐 행이 없으면 게이트웨이를 부르지 않고 거절한다")
+    void rejectsWhenNoRowTransitioned() {
+        // given
+        Long paymentId = 1L;
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.of(completedPayment()));
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.COMPLETED), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class)))
+            .willReturn(0);
+        given(paymentRepository.findCurrentTimeById(paymentId)).willReturn(Optional.of(LocalDateTime.now()));
+        given(paymentRepository.claimStale(eq(paymentId), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .willReturn(0);
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("완료된 결제만 취소할 수 있습니다.");
+        verify(paymentGateway, never()).cancelPayment(anyString());
+    }
+    
+    @Test
+    @DisplayName("게이트웨이 취소가 실패하면 선점한 취소 중 상태를 완료 상태로 되돌린다")
+    void restoresCompletedWhenGatewayFails() {
+        // given
+        Long paymentId = 1L;
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.of(completedPayment()));
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.COMPLETED), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.COMPLETED), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentGateway.cancelPayment("ORDER-001")).willReturn(false);
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("결제 취소 중 오류가 발생했습니다.");
+        verify(paymentRepository).transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.COMPLETED), any(LocalDateTime.class));
+        verify(paymentRepository, never()).transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.CANCELLED), any(LocalDateTime.class));
+    }
+    
+    @Test
+    @DisplayName("게이트웨이 취소가 실패해 완료 상태로 되돌린 결제는 다시 취소를 요청하면 선점부터 새로 진행한다")
+    void retriesAfterGatewayFailure() {
+        // given
+        Long paymentId = 1L;
+        AtomicReference<PaymentStatus> storedStatus = new AtomicReference<>(PaymentStatus.COMPLETED);
+        given(paymentRepository.findById(paymentId)).willAnswer(invocation -> Optional.of(paymentWithStatus(storedStatus.get())));
+        given(paymentRepository.transitionStatus(eq(paymentId), any(PaymentStatus.class), any(PaymentStatus.class), any(LocalDateTime.class)))
+            .willAnswer(invocation -> storedStatus.compareAndSet(invocation.getArgument(1), invocation.getArgument(2)) ? 1 : 0);
+        given(paymentGateway.cancelPayment("ORDER-001")).willReturn(false, true);
+        
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessage("결제 취소 중 오류가 발생했습니다.");
+        assertThat(storedStatus).hasValue(PaymentStatus.COMPLETED);
+        
+        // when
+        Payment result = paymentService.cancelPayment(paymentId);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELLED);
+        verify(paymentGateway, times(2)).cancelPayment("ORDER-001");
+        verify(paymentRepository, never()).claimStale(any(), any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("기한이 지나도록 취소 중으로 남은 결제는 넘겨받아 환불을 다시 요청하고 취소 상태로 확정한다")
+    void takesOverStaleCancelling() {
+        // given
+        Long paymentId = 1L;
+        Payment cancelledPayment = completedPayment();
+        cancelledPayment.cancel();
+        given(paymentRepository.findById(paymentId))
+            .willReturn(Optional.of(completedPayment()))
+            .willReturn(Optional.of(cancelledPayment));
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.COMPLETED), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class)))
+            .willReturn(0);
+        given(paymentRepository.findCurrentTimeById(paymentId)).willReturn(Optional.of(LocalDateTime.now()));
+        given(paymentRepository.claimStale(eq(paymentId), eq(PaymentStatus.CANCELLING), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentRepository.transitionStatus(eq(paymentId), eq(PaymentStatus.CANCELLING), eq(PaymentStatus.CANCELLED), any(LocalDateTime.class)))
+            .willReturn(1);
+        given(paymentGateway.cancelPayment("ORDER-001")).willReturn(true);
+        
+        // when
+        Payment result = paymentService.cancelPayment(paymentId);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELLED);
+        verify(paymentGateway).cancelPayment("ORDER-001");
+    }
+    
+    @Test
+    @DisplayName("존재하지 않는 결제는 상태 전이 전에 거절한다")
+    void rejectsUnknownPayment() {
+        // given
+        Long paymentId = 999L;
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.empty());
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("결제 정보를 찾을 수 없습니다: 999");
+        verify(paymentRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+    
+    private static Payment paymentWithStatus(PaymentStatus status) {
+        Payment payment = completedPayment();
+        if (status == PaymentStatus.CANCELLED) {
+            payment.cancel();
+        }
+        return payment;
+    }
+    
+    private static Payment completedPayment() {
+        Payment payment = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        payment.complete();
+        return payment;
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,7 +58,7 @@ class PaymentServiceHybridLockTest {
         
         String expectedLockKey = "payment:order:ORDER-001";
         
-        given(distributedLockUtil.executeWithLock(eq(expectedLockKey), any(Supplier.class)))
+        given(distributedLockUtil.executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class)))
             .willAnswer(invocation -> {
                 Supplier<Payment> supplier = invocation.getArgument(1);
                 return supplier.get();
@@ -73,7 +74,7 @@ class PaymentServiceHybridLockTest {
         
         // then
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
-        verify(distributedLockUtil).executeWithLock(eq(expectedLockKey), any(Supplier.class));
+        verify(distributedLockUtil).executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class));
         verify(paymentRepository).existsByOrderId("ORDER-001");
         verify(paymentGateway).processPayment("ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
     }
@@ -92,13 +93,13 @@ class PaymentServiceHybridLockTest {
         
         String expectedLockKey = "payment:cancel:1";
         
-        given(distributedLockUtil.executeWithLock(eq(expectedLockKey), any(Supplier.class)))
+        given(distributedLockUtil.executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class)))
             .willAnswer(invocation -> {
                 Supplier<Payment> supplier = invocation.getArgument(1);
                 return supplier.get();
             });
         
-        given(paymentRepository.findByIdWithPessimisticLock(paymentId)).willReturn(Optional.of(completedPayment));
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.of(completedPayment));
         given(paymentGateway.cancelPayment("ORDER-001")).willReturn(true);
         given(paymentRepository.save(any(Payment.class))).willReturn(cancelledPayment);
         
@@ -107,8 +108,9 @@ class PaymentServiceHybridLockTest {
         
         // then
         assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELLED);
-        verify(distributedLockUtil).executeWithLock(eq(expectedLockKey), any(Supplier.class));
-        verify(paymentRepository).findByIdWithPessimisticLock(paymentId);
+        verify(distributedLockUtil).executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class));
+        verify(paymentRepository).findById(paymentId);
+        verify(paymentRepository, never()).findByIdWithPessimisticLock(paymentId);
         verify(paymentGateway).cancelPayment("ORDER-001");
     }
     
@@ -121,37 +123,38 @@ class PaymentServiceHybridLockTest {
         
         RuntimeException testException = new RuntimeException("분산락 내부 예외");
         
-        given(distributedLockUtil.executeWithLock(eq(expectedLockKey), any(Supplier.class)))
+        given(distributedLockUtil.executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class)))
             .willThrow(testException);
         
         // when & then
         assertThatThrownBy(() -> paymentService.processPayment(command))
             .isEqualTo(testException);
         
-        verify(distributedLockUtil).executeWithLock(eq(expectedLockKey), any(Supplier.class));
+        verify(distributedLockUtil).executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class));
     }
     
     @Test
-    @DisplayName("하이브리드 락에서 비관적 락이 올바르게 사용된다")
-    void pessimisticLockUsedInHybridLock() {
+    @DisplayName("하이브리드 락 취소는 행 잠금 없이 결제를 조회한다")
+    void noPessimisticLockInHybridLock() {
         // given
         Long paymentId = 1L;
         String expectedLockKey = "payment:cancel:1";
         
-        given(distributedLockUtil.executeWithLock(eq(expectedLockKey), any(Supplier.class)))
+        given(distributedLockUtil.executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class)))
             .willAnswer(invocation -> {
                 Supplier<Payment> supplier = invocation.getArgument(1);
                 return supplier.get();
             });
         
-        given(paymentRepository.findByIdWithPessimisticLock(paymentId)).willReturn(Optional.empty());
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.empty());
         
         // when & then
         assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("결제 정보를 찾을 수 없습니다");
         
-        verify(distributedLockUtil).executeWithLock(eq(expectedLockKey), any(Supplier.class));
-        verify(paymentRepository).findByIdWithPessimisticLock(paymentId);
+        verify(distributedLockUtil).executeWithLockInTransaction(eq(expectedLockKey), any(Supplier.class));
+        verify(paymentRepository).findById(paymentId);
+        verify(paymentRepository, never()).findByIdWithPessimisticLock(paymentId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.payment.adapter.out.JpaPaymentRepository;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 선점은 DB의 조건부 UPDATE와 버전에 기대므로 mock 대신 실제 JPA 저장소로 확인한다
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("insert-first PENDING 넘겨받기 DB 테스트")
+class PaymentServiceInsertFirstTakeoverTest {
+    
+    @Autowired
+    private JpaPaymentRepository paymentRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+    }
+    
+    @Test
+    @DisplayName("기한이 지난 PENDING 결제를 동시에 넘겨받으면 하나만 성공하고, 넘겨받은 결제는 올라간 버전으로 저장된다")
+    void concurrentTakeoverHasSingleWinner() throws Exception {
+        // given
+        Payment stale = paymentRepository.save(Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD));
+        jdbcTemplate.update("UPDATE payments SET updated_at = ? WHERE id = ?", LocalDateTime.now().minusHours(1), stale.getId());
+        ExternalPaymentGateway paymentGateway = mock(ExternalPaymentGateway.class);
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willReturn(PaymentGatewayResult.success("TXN-001"));
+        PaymentServiceWithInsertFirst paymentService =
+            new PaymentServiceWithInsertFirst(paymentRepository, paymentGateway, new TransactionTemplate(transactionManager));
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        // when
+        List<CompletableFuture<Payment>> futures = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return paymentService.processPayment(command);
+            }));
+        }
+        start.countDown();
+        
+        // then
+        List<Payment> winners = new ArrayList<>();
+        List<Throwable> losers = new ArrayList<>();
+        for (CompletableFuture<Payment> future : futures) {
+            try {
+                winners.add(future.get(10, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                losers.add(e.getCause());
+            }
+        }
+        assertThat(winners).singleElement().extracting(Payment::getStatus).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(losers).singleElement().isInstanceOf(DuplicateOrderException.class);
+        
+        // 넘겨받을 때 한 번, 완료로 저장할 때 한 번 버전이 오르며, 낡은 버전으로 저장했다면 낙관적 락 충돌이 났다
+        Payment stored = paymentRepository.findById(stale.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(stored.getVersion()).isEqualTo(stale.getVersion() + 2);
+        verify(paymentGateway, times(1)).processPayment("ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.DuplicateOrderException;
+import com.ys.locksmith.payment.adapter.out.OrderIdFilter;
+import com.ys.locksmith.payment.adapter.out.OrderIdFilterAspect;
+import com.ys.locksmith.payment.application.port.in.PaymentCommand;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentGatewayResult;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("insert-first 결제 서비스 테스트")
+class PaymentServiceInsertFirstTest {
+    
+    @Mock
+    private PaymentRepository paymentRepository;
+    
+    @Mock
+    private ExternalPaymentGateway paymentGateway;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private PaymentServiceWithInsertFirst paymentService;
+    
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceWithInsertFirst(paymentRepository, paymentGateway, transactionTemplate);
+        given(transactionTemplate.execute(any())).willAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+    
+    @Test
+    @DisplayName("중복 조회 없이 바로 저장하고 결제를 처리한다")
+    void processPaymentWithoutExistsQuery() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willReturn(PaymentGatewayResult.success("TXN-001"));
+        
+        // when
+        Payment result = paymentService.processPayment(command);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        verify(paymentRepository, never()).existsByOrderId(anyString());
+    }
+    
+    @Test
+    @DisplayName("order_id unique 제약에 걸리면 기존과 같은 중복 주문 오류로 바꾸고 게이트웨이를 호출하지 않는다")
+    void translatesUniqueViolation() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class))).willThrow(new DataIntegrityViolationException("uk_order_id"));
+        given(paymentRepository.findByOrderId("ORDER-001"))
+            .willReturn(Optional.of(Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD)));
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(DuplicateOrderException.class)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("이미 존재하는 주문 ID입니다");
+        verify(paymentGateway, never()).processPayment(anyString(), any(Money.class), any(PaymentMethod.class));
+    }
+    
+    @Test
+    @DisplayName("order_id 중복이 아닌 제약 위반은 그대로 전파한다")
+    void propagatesOtherViolations() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class))).willThrow(new DataIntegrityViolationException("not null"));
+        given(paymentRepository.findByOrderId("ORDER-001")).willReturn(Optional.empty());
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+    
+    @Test
+    @DisplayName("다른 노드가 넣어 주문 ID filter에 없는 주문도 DB에서 확인해 중복 주문으로 거절한다")
+    @SuppressWarnings("unchecked")
+    void translatesUniqueViolationMissingFromFilter() {
+        // given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:insert-first-filter-test;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS payments (order_id VARCHAR(255) NOT NULL PRIMARY KEY)");
+        OrderIdFilter orderIdFilter = new OrderIdFilter(jdbcTemplate, mock(ObjectProvider.class), new SimpleMeterRegistry());
+        orderIdFilter.rebuild();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(paymentRepository);
+        proxyFactory.addAspect(new OrderIdFilterAspect(orderIdFilter));
+        PaymentRepository filteredRepository = proxyFactory.getProxy();
+        paymentService = new PaymentServiceWithInsertFirst(filteredRepository, paymentGateway, transactionTemplate);
+        
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class))).willThrow(new DataIntegrityViolationException("uk_order_id"));
+        given(paymentRepository.findByOrderId("ORDER-001"))
+            .willReturn(Optional.of(Payment.create(2L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD)));
+        
+        // when & then
+        assertThat(filteredRepository.existsByOrderId("ORDER-001")).isFalse();
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(DuplicateOrderException.class);
+        verify(paymentGateway, never()).processPayment(anyString(), any(Money.class), any(PaymentMethod.class));
+    }
+    
+    @Test
+    @DisplayName("게이트웨이 호출 중 오류가 나면 먼저 커밋된 결제를 실패로 남긴다")
+    void marksFailedOnGatewayError() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment pending = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class))).willReturn(pending);
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willThrow(new IllegalStateException("PG 연결 오류"));
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("결제 처리 중 오류가 발생했습니다");
+        assertThat(pending.getStatus()).isEqualTo(PaymentStatus.FAILED);
+    }
+    
+    @Test
+    @DisplayName("게이트웨이 결과를 받은 뒤 저장이 실패하면 상태를 실패로 덮지 않고 원래 오류를 전파한다")
+    void keepsGatewayResultWhenSaveFails() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment pending = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        given(paymentRepository.save(any(Payment.class)))
+            .willReturn(pending)
+            .willThrow(new IllegalStateException("DB 연결 오류"));
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willReturn(PaymentGatewayResult.success("TXN-001"));
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("결제 처리 중 오류가 발생했습니다")
+            .hasRootCauseMessage("DB 연결 오류");
+        assertThat(pending.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+    }
+    
+    @Test
+    @DisplayName("같은 주문의 PENDING 결제가 기한을 넘겼으면 넘겨받아 다시 처리한다")
+    void takesOverStalePending() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment stale = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        ReflectionTestUtils.setField(stale, "id", 1L);
+        ReflectionTestUtils.setField(stale, "updatedAt", LocalDateTime.now().minusHours(1));
+        given(paymentRepository.save(any(Payment.class)))
+            .willThrow(new DataIntegrityViolationException("uk_order_id"))
+            .willAnswer(invocation -> invocation.getArgument(0));
+        given(paymentRepository.findByOrderId("ORDER-001")).willReturn(Optional.of(stale));
+        given(paymentRepository.findCurrentTimeById(1L)).willReturn(Optional.of(LocalDateTime.now()));
+        given(paymentRepository.claimStale(eq(1L), eq(PaymentStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(1);
+        given(paymentRepository.findById(1L)).willReturn(Optional.of(stale));
+        given(paymentGateway.processPayment(anyString(), any(Money.class), any(PaymentMethod.class)))
+            .willReturn(PaymentGatewayResult.success("TXN-001"));
+        
+        // when
+        Payment result = paymentService.processPayment(command);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+    }
+    
+    @Test
+    @DisplayName("기한이 남은 PENDING 결제는 넘겨받지 않고 중복 주문으로 거절한다")
+    void rejectsFreshPending() {
+        // given
+        PaymentCommand command = PaymentCommand.of(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        Payment inProgress = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        ReflectionTestUtils.setField(inProgress, "id", 1L);
+        given(paymentRepository.save(any(Payment.class))).willThrow(new DataIntegrityViolationException("uk_order_id"));
+        given(paymentRepository.findByOrderId("ORDER-001")).willReturn(Optional.of(inProgress));
+        given(paymentRepository.findCurrentTimeById(1L)).willReturn(Optional.of(LocalDateTime.now()));
+        given(paymentRepository.claimStale(eq(1L), eq(PaymentStatus.PENDING), any(LocalDateTime.class), any(LocalDateTime.class))).willReturn(0);
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.processPayment(command))
+            .isInstanceOf(DuplicateOrderException.class);
+        verify(paymentRepository, never()).findById(any());
+        verify(paymentGateway, never()).processPayment(anyString(), any(Money.class), any(PaymentMethod.class));
+    }
+}
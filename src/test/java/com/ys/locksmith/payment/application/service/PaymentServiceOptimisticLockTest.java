@@ -0,0 +1,114 @@
+package com.ys.locksmith.payment.application.service;
+
+import com.ys.locksmith.common.lock.LockContendedException;
+import com.ys.locksmith.payment.application.port.out.ExternalPaymentGateway;
+import com.ys.locksmith.payment.application.port.out.PaymentRepository;
+import com.ys.locksmith.payment.domain.Money;
+import com.ys.locksmith.payment.domain.Payment;
+import com.ys.locksmith.payment.domain.PaymentMethod;
+import com.ys.locksmith.payment.domain.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("낙관적 락 결제 서비스 테스트")
+class PaymentServiceOptimisticLockTest {
+    
+    @Mock
+    private PaymentRepository paymentRepository;
+    
+    @Mock
+    private ExternalPaymentGateway paymentGateway;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private PaymentServiceWithOptimisticLock paymentService;
+    
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceWithOptimisticLock(paymentRepository, paymentGateway, transactionTemplate);
+    }
+    
+    @Test
+    @DisplayName("커밋 시 버전 충돌이 나면 새 트랜잭션에서 다시 읽어 취소한다")
+    void retriesCancelOnVersionConflict() {
+        // given
+        Long paymentId = 1L;
+        given(transactionTemplate.execute(any()))
+            .willThrow(new ObjectOptimisticLockingFailureException(Payment.class, paymentId))
+            .willAnswer(invocation -> {
+                TransactionCallback<?> callback = invocation.getArgument(0);
+                return callback.doInTransaction(null);
+            });
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.of(completedPayment()));
+        given(paymentGateway.cancelPayment("ORDER-001")).willReturn(true);
+        given(paymentRepository.save(any(Payment.class))).willAnswer(invocation -> invocation.getArgument(0));
+        
+        // when
+        Payment result = paymentService.cancelPayment(paymentId);
+        
+        // then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELLED);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+    
+    @Test
+    @DisplayName("충돌한 상대가 이미 취소했다면 다시 읽은 상태로 거절하고 게이트웨이를 부르지 않는다")
+    void rejectsRetryWhenAlreadyCancelled() {
+        // given
+        Long paymentId = 1L;
+        Payment cancelledPayment = completedPayment();
+        cancelledPayment.cancel();
+        given(transactionTemplate.execute(any()))
+            .willThrow(new ObjectOptimisticLockingFailureException(Payment.class, paymentId))
+            .willAnswer(invocation -> {
+                TransactionCallback<?> callback = invocation.getArgument(0);
+                return callback.doInTransaction(null);
+            });
+        given(paymentRepository.findById(paymentId)).willReturn(Optional.of(cancelledPayment));
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("완료된 결제만 취소할 수 있습니다.");
+        verify(paymentGateway, never()).cancelPayment(anyString());
+    }
+    
+    @Test
+    @DisplayName("재시도 한도까지 충돌하면 락 경합 예외로 돌려보낸다")
+    void givesUpAfterMaxAttempts() {
+        // given
+        Long paymentId = 1L;
+        given(transactionTemplate.execute(any()))
+            .willThrow(new ObjectOptimisticLockingFailureException(Payment.class, paymentId));
+        
+        // when & then
+        assertThatThrownBy(() -> paymentService.cancelPayment(paymentId))
+            .isInstanceOf(LockContendedException.class);
+        verify(transactionTemplate, times(5)).execute(any());
+    }
+    
+    private static Payment completedPayment() {
+        Payment payment = Payment.create(1L, "ORDER-001", Money.krw(10000), PaymentMethod.CREDIT_CARD);
+        payment.complete();
+        return payment;
+    }
+}